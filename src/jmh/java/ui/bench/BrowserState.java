@@ -0,0 +1,52 @@
+package ui.bench;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import ui.driver.DriverFactory;
+import ui.site.Page;
+
+/**
+ * Одна сессия браузера на весь прогон бенчмарка (форк JMH). Страница открывается один раз в {@link #open()},
+ * в измерение попадает только поиск элементов.
+ * <p>
+ * Сессия - обычный ChromeDriver с настройками {@link DriverFactory#options()}, без декоратора и слушателей
+ * {@link DriverFactory#create()}: замер команд в ui.metrics.CommandMetrics исказил бы результаты бенчмарка.
+ * <p>
+ * Задача gradle jmh передаёт -Dheadless=true и -DstandIn=true: страницы отдаёт локальный
+ * {@link ui.site.StandInServer}, поэтому сеть не влияет на результаты.
+ */
+@State(Scope.Benchmark)
+public abstract class BrowserState {
+    protected WebDriver driver;
+
+    /**
+     * Открываемая страница.
+     */
+    protected abstract Page page();
+
+    /**
+     * Подготовка страницы после загрузки (открыть выпадающее меню, календарь и т.п.).
+     */
+    protected void prepare() {
+    }
+
+    @Setup(Level.Trial)
+    public void open() {
+        driver = new ChromeDriver(DriverFactory.options());
+        driver.manage().window().maximize();
+        page().open(driver);
+        prepare();
+    }
+
+    @TearDown(Level.Trial)
+    public void quit() {
+        if (driver != null) {
+            driver.quit();
+        }
+    }
+}
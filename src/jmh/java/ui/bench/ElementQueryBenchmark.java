@@ -0,0 +1,112 @@
+package ui.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import ui.site.Page;
+import ui.snapshot.DomSnapshot;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Запросы, которые тесты делают относительно другого элемента или с фильтрацией по тексту:
+ * пункты выпадающего меню (DropdownMenuTests) и день в календаре (WebFormTests).
+ * <p>
+ * Для каждого запроса есть несколько эквивалентных вариантов: относительный XPath от найденного элемента,
+ * один CSS/XPath от корня документа, findElements с фильтрацией на стороне Java и {@link DomSnapshot}.
+ * <p>
+ * Страницы отдаёт stand-in сервер: выпадающее меню и календарь там - упрощённая замена Bootstrap
+ * и bootstrap-datepicker из stand-in.js, с меньшим DOM. Цифры показывают соотношение вариантов между собой,
+ * а не время тех же запросов на настоящих страницах.
+ */
+@BenchmarkMode({Mode.AverageTime, Mode.Throughput})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ElementQueryBenchmark {
+    private static final By DROPDOWN_ITEMS_CSS = By.cssSelector("#my-dropdown-1 + ul.dropdown-menu a.dropdown-item");
+
+    public static class Dropdown extends BrowserState {
+        WebElement toggle;
+
+        @Override
+        protected Page page() {
+            return Page.DROPDOWN_MENU;
+        }
+
+        @Override
+        protected void prepare() {
+            toggle = driver.findElement(By.id("my-dropdown-1"));
+            toggle.click();
+        }
+    }
+
+    public static class Datepicker extends BrowserState {
+        // Первая ячейка текущего месяца с классом ровно 'day' (не сегодняшний и не выбранный день)
+        String day;
+
+        @Override
+        protected Page page() {
+            return Page.WEB_FORM;
+        }
+
+        @Override
+        protected void prepare() {
+            driver.findElement(By.name("my-date")).click();
+            day = driver.findElements(By.xpath("//td[@class='day']")).get(0).getText();
+        }
+    }
+
+    @Benchmark
+    public List<WebElement> dropdownItemsRelativeXpath(Dropdown state) {
+        return state.toggle.findElements(By.xpath("./following-sibling::ul[contains(@class, 'dropdown-menu')]//a[@class='dropdown-item']"));
+    }
+
+    @Benchmark
+    public List<WebElement> dropdownItemsFindThenXpath(Dropdown state) {
+        // Как в тестах: сначала кнопка, затем пункты относительно неё
+        WebElement toggle = state.driver.findElement(By.id("my-dropdown-1"));
+        return toggle.findElements(By.xpath("./following-sibling::ul[contains(@class, 'dropdown-menu')]//a[@class='dropdown-item']"));
+    }
+
+    @Benchmark
+    public List<WebElement> dropdownItemsCss(Dropdown state) {
+        return state.driver.findElements(DROPDOWN_ITEMS_CSS);
+    }
+
+    @Benchmark
+    public List<String> dropdownItemTextsSnapshot(Dropdown state) {
+        return DomSnapshot.take(state.driver, DROPDOWN_ITEMS_CSS).texts(DROPDOWN_ITEMS_CSS);
+    }
+
+    @Benchmark
+    public WebElement datepickerDayXpathExactClass(Datepicker state) {
+        return state.driver.findElement(By.xpath(String.format("//td[@class='%s' and text()='%s']", "day", state.day)));
+    }
+
+    @Benchmark
+    public WebElement datepickerDayXpathContainsClass(Datepicker state) {
+        return state.driver.findElement(By.xpath(String.format(
+                "//td[contains(concat(' ', @class, ' '), ' day ') and not(contains(@class, 'old')) and not(contains(@class, 'new')) and text()='%s']",
+                state.day)));
+    }
+
+    @Benchmark
+    public WebElement datepickerDayCssThenFilter(Datepicker state) {
+        // Вариант без XPath: все ячейки одним запросом и getText() для каждой - по команде на ячейку
+        for (WebElement cell : state.driver.findElements(By.cssSelector("td.day:not(.old):not(.new)"))) {
+            if (cell.getText().equals(state.day)) {
+                return cell;
+            }
+        }
+        throw new IllegalStateException("Day " + state.day + " not found");
+    }
+}
@@ -0,0 +1,93 @@
+package ui.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import ui.site.Page;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Поиск одного и того же элемента разными локаторами: текстовое поле web-form.html
+ * и кнопка Previous на navigation1.html (локатор из Navigation1PageTests).
+ * <p>
+ * Все локаторы в одной группе находят один и тот же элемент, поэтому разница во времени - это цена стратегии.
+ * Замеры идут на копиях страниц stand-in сервера, где вместо скриптов Bootstrap подключён stand-in.js:
+ * абсолютное время поиска на настоящих страницах может отличаться.
+ */
+@BenchmarkMode({Mode.AverageTime, Mode.Throughput})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocatorBenchmark {
+
+    public static class WebForm extends BrowserState {
+        private static final Map<String, By> LOCATORS = Map.of(
+                "id", By.id("my-text-id"),
+                "name", By.name("my-text"),
+                "className", By.className("form-control"),
+                "css", By.cssSelector("#my-text-id"),
+                "xpath", By.xpath("//input[@id='my-text-id']"),
+                "xpathByAttributes", By.xpath("//input[@type='text' and @name='my-text']")
+        );
+
+        @Param({"id", "name", "className", "css", "xpath", "xpathByAttributes"})
+        public String strategy;
+
+        By locator;
+
+        @Override
+        protected Page page() {
+            return Page.WEB_FORM;
+        }
+
+        @Setup
+        public void resolveLocator() {
+            locator = LOCATORS.get(strategy);
+        }
+    }
+
+    public static class Pagination extends BrowserState {
+        private static final Map<String, By> LOCATORS = Map.of(
+                "xpathClassAndText", By.xpath("//a[@class = 'page-link' and text() = 'Previous']"),
+                "xpathText", By.xpath("//a[text() = 'Previous']"),
+                "linkText", By.linkText("Previous"),
+                "css", By.cssSelector("ul.pagination li:first-child > a.page-link")
+        );
+
+        @Param({"xpathClassAndText", "xpathText", "linkText", "css"})
+        public String strategy;
+
+        By locator;
+
+        @Override
+        protected Page page() {
+            return Page.NAVIGATION1;
+        }
+
+        @Setup
+        public void resolveLocator() {
+            locator = LOCATORS.get(strategy);
+        }
+    }
+
+    @Benchmark
+    public WebElement webFormTextInput(WebForm state) {
+        return state.driver.findElement(state.locator);
+    }
+
+    @Benchmark
+    public WebElement paginationPrevious(Pagination state) {
+        return state.driver.findElement(state.locator);
+    }
+}
@@ -1,17 +1,33 @@
 package org.mycompany;
 
-//TIP To <b>Run</b> code, press <shortcut actionId="Run"/> or
-// click the <icon src="AllIcons.Actions.Execute"/> icon in the gutter.
-public class Main {
-    public static void main(String[] args) {
-        //TIP Press <shortcut actionId="ShowIntentionActions"/> with your caret at the highlighted text
-        // to see how IntelliJ IDEA suggests fixing it.
-        System.out.printf("Hello and welcome!");
+import org.mycompany.load.LoadConfig;
+import org.mycompany.load.LoadReport;
+import org.mycompany.load.LoadRunner;
 
-        for (int i = 1; i <= 5; i++) {
-            //TIP Press <shortcut actionId="Debug"/> to start debugging your code. We have set one <icon src="AllIcons.Debugger.Db_set_breakpoint"/> breakpoint
-            // for you, but you can always add more by pressing <shortcut actionId="ToggleLineBreakpoint"/>.
-            System.out.println("i = " + i);
+/**
+ * Нагрузочный прогон страниц практикума: несколько одновременных сессий Chrome выполняют сценарии тестов
+ * (заполнение формы, переход по страницам навигации, выпадающие меню) против заданного адреса.
+ * <p>
+ * ./gradlew loadRun -Pload.args="--url http://localhost:8000/ --sessions 8 --ramp-up 20 --duration 120"
+ * <p>
+ * Код выхода 1, если были ошибки шагов; 2 - неверные аргументы.
+ */
+public class Main {
+    public static void main(String[] args) throws InterruptedException {
+        LoadConfig config;
+        try {
+            config = LoadConfig.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(LoadConfig.USAGE);
+            System.exit(2);
+            return;
+        }
+        LoadReport report = new LoadRunner(config).run();
+        report.print();
+        if (config.report() != null) {
+            report.write(config.report());
         }
+        System.exit(report.errors() == 0 ? 0 : 1);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,113 @@
+package org.mycompany.load;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Keys;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.interactions.Actions;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.Select;
+
+import java.util.Arrays;
+
+/**
+ * Сценарии нагрузки - те же действия, что выполняют тесты страниц (WebFormTests, Navigation1PageTests,
+ * DropdownMenuTests), разбитые на шаги. Время и ошибки считаются по каждому шагу отдельно.
+ */
+public enum Flow {
+    /**
+     * Заполнение и отправка web-form.html.
+     */
+    WEB_FORM("webform") {
+        @Override
+        void run(LoadSession session) {
+            session.step("webform.open", () -> {
+                session.open("web-form.html");
+                session.await(ExpectedConditions.presenceOfElementLocated(By.id("my-text-id")));
+            });
+            session.step("webform.fill", () -> {
+                session.driver().findElement(By.id("my-text-id")).sendKeys("Load test");
+                session.driver().findElement(By.name("my-password")).sendKeys("secret");
+                session.driver().findElement(By.name("my-textarea")).sendKeys("Synthetic traffic");
+                new Select(session.driver().findElement(By.name("my-select"))).selectByValue("2");
+                session.driver().findElement(By.id("my-check-2")).click();
+                WebElement date = session.driver().findElement(By.name("my-date"));
+                date.sendKeys("03/03/1988");
+                date.sendKeys(Keys.ESCAPE);
+            });
+            session.step("webform.submit", () -> {
+                session.driver().findElement(By.cssSelector("button[type='submit']")).click();
+                session.await(ExpectedConditions.urlContains("submitted-form"));
+                session.await(ExpectedConditions.textToBe(By.className("lead"), "Received!"));
+            });
+        }
+    },
+    /**
+     * Переход по страницам navigation1 -> navigation2 -> navigation3 кнопкой Next.
+     */
+    NAVIGATION("navigation") {
+        @Override
+        void run(LoadSession session) {
+            session.step("navigation.open", () -> {
+                session.open("navigation1.html");
+                session.await(ExpectedConditions.elementToBeClickable(By.linkText("Next")));
+            });
+            for (int page = 2; page <= 3; page++) {
+                String target = "navigation" + page + ".html";
+                session.step("navigation.page" + page, () -> {
+                    session.driver().findElement(By.linkText("Next")).click();
+                    session.await(ExpectedConditions.urlContains(target));
+                    session.await(ExpectedConditions.presenceOfElementLocated(By.className("lead")));
+                });
+            }
+        }
+    },
+    /**
+     * Открытие трёх выпадающих меню dropdown-menu.html: левым, правым и двойным кликом.
+     */
+    DROPDOWN("dropdown") {
+        @Override
+        void run(LoadSession session) {
+            session.step("dropdown.open", () -> {
+                session.open("dropdown-menu.html");
+                session.await(ExpectedConditions.elementToBeClickable(By.id("my-dropdown-1")));
+            });
+            menu(session, "dropdown.left", "my-dropdown-1", Actions::click);
+            menu(session, "dropdown.right", "my-dropdown-2", Actions::contextClick);
+            menu(session, "dropdown.double", "my-dropdown-3", Actions::doubleClick);
+        }
+
+        private void menu(LoadSession session, String step, String toggleId, Gesture gesture) {
+            session.step(step, () -> {
+                WebElement toggle = session.driver().findElement(By.id(toggleId));
+                gesture.apply(new Actions(session.driver()), toggle).perform();
+                session.await(ExpectedConditions.visibilityOf(toggle.findElement(By.xpath("./following-sibling::ul[contains(@class, 'dropdown-menu')]"))));
+                // Закрываем меню, чтобы следующее открывалось на чистой странице
+                new Actions(session.driver()).sendKeys(Keys.ESCAPE).perform();
+            });
+        }
+    };
+
+    private final String cliName;
+
+    Flow(String cliName) {
+        this.cliName = cliName;
+    }
+
+    public String cliName() {
+        return cliName;
+    }
+
+    abstract void run(LoadSession session);
+
+    static Flow byName(String name) {
+        return Arrays.stream(values())
+                .filter(flow -> flow.cliName.equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown flow " + name));
+    }
+
+    @FunctionalInterface
+    private interface Gesture {
+        Actions apply(Actions actions, WebElement target);
+    }
+}
@@ -0,0 +1,85 @@
+package org.mycompany.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Параметры нагрузочного прогона из аргументов командной строки ({@code --name value} или {@code --name=value}).
+ */
+public record LoadConfig(String baseUrl, int sessions, Duration rampUp, Duration duration, List<Flow> flows,
+                         boolean headless, Duration thinkTime, Path report) {
+    private static final Set<String> OPTIONS = Set.of("url", "sessions", "ramp-up", "duration", "flows", "headless", "think-ms", "report");
+
+    public static final String USAGE = """
+            Usage: Main --url <base url> [options]
+              --url        адрес страниц, например http://localhost:8000/ (копия из src/test/resources/site/<version>)
+              --sessions   число одновременных сессий браузера (4)
+              --ramp-up    за сколько секунд запускаются все сессии (10)
+              --duration   длительность нагрузки в секундах после разгона (60)
+              --flows      сценарии через запятую: webform,navigation,dropdown (все)
+              --headless   запуск Chrome без окна (true)
+              --think-ms   пауза между сценариями в миллисекундах (0)
+              --report     файл для отчёта в JSON (не пишется)
+            """;
+
+    public LoadConfig {
+        if (sessions < 1) {
+            throw new IllegalArgumentException("--sessions must be positive");
+        }
+        if (rampUp.isNegative() || duration.isNegative() || duration.isZero() || thinkTime.isNegative()) {
+            throw new IllegalArgumentException("--ramp-up, --duration and --think-ms must not be negative, --duration must be positive");
+        }
+        if (flows.isEmpty()) {
+            throw new IllegalArgumentException("--flows must name at least one flow");
+        }
+        baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+    }
+
+    public static LoadConfig parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument " + args[i]);
+            }
+            String name = args[i].substring(2);
+            String value;
+            int equals = name.indexOf('=');
+            if (equals >= 0) {
+                value = name.substring(equals + 1);
+                name = name.substring(0, equals);
+            } else if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                value = args[++i];
+            } else {
+                // Флаг без значения, например --headless
+                value = "true";
+            }
+            if (!OPTIONS.contains(name)) {
+                throw new IllegalArgumentException("Unknown option --" + name);
+            }
+            options.put(name, value);
+        }
+        if (!options.containsKey("url")) {
+            throw new IllegalArgumentException("--url is required");
+        }
+        return new LoadConfig(
+                options.get("url"),
+                Integer.parseInt(options.getOrDefault("sessions", "4")),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("ramp-up", "10"))),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60"))),
+                Arrays.stream(options.getOrDefault("flows", "webform,navigation,dropdown").split(","))
+                        .map(String::trim)
+                        .filter(name -> !name.isEmpty())
+                        .map(name -> Flow.byName(name.toLowerCase(Locale.ROOT)))
+                        .distinct()
+                        .toList(),
+                Boolean.parseBoolean(options.getOrDefault("headless", "true")),
+                Duration.ofMillis(Long.parseLong(options.getOrDefault("think-ms", "0"))),
+                options.containsKey("report") ? Path.of(options.get("report")) : null);
+    }
+}
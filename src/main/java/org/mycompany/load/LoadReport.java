@@ -0,0 +1,83 @@
+package org.mycompany.load;
+
+import org.mycompany.metrics.LatencyHistogram;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Итоги прогона по шагам: пропускная способность (успешных шагов в секунду за весь прогон), доля ошибок
+ * и перцентили времени успешных выполнений.
+ */
+public record LoadReport(LoadConfig config, LoadStats stats, Duration elapsed) {
+    private static final double[] PERCENTILES = {50, 90, 95, 99};
+
+    public long errors() {
+        return stats.steps().values().stream().mapToLong(LoadStats.StepStats::errors).sum();
+    }
+
+    public void print() {
+        double seconds = Math.max(0.001, elapsed.toNanos() / 1e9);
+        System.out.printf(Locale.ROOT, "[load] %s, %d sessions, ramp-up %ds, duration %ds, flows %s, elapsed %.1fs%n",
+                config.baseUrl(), config.sessions(), config.rampUp().toSeconds(), config.duration().toSeconds(),
+                config.flows().stream().map(Flow::cliName).toList(), seconds);
+        System.out.printf(Locale.ROOT, "%-18s %8s %7s %7s %8s %8s %8s %8s %8s %8s%n",
+                "step", "ok", "errors", "err%", "ok/s", "p50 ms", "p90 ms", "p95 ms", "p99 ms", "max ms");
+        new TreeMap<>(stats.steps()).forEach((step, stepStats) -> {
+            LatencyHistogram latency = stepStats.latency();
+            System.out.printf(Locale.ROOT, "%-18s %8d %7d %6.2f%% %8.2f %8.1f %8.1f %8.1f %8.1f %8.1f%n",
+                    step, stepStats.successes(), stepStats.errors(), stepStats.errorRate() * 100, stepStats.successes() / seconds,
+                    latency.percentileMillis(50), latency.percentileMillis(90), latency.percentileMillis(95),
+                    latency.percentileMillis(99), latency.maxMillis());
+            if (stepStats.firstError() != null) {
+                System.out.println("    first error: " + stepStats.firstError());
+            }
+        });
+    }
+
+    public void write(Path file) {
+        double seconds = Math.max(0.001, elapsed.toNanos() / 1e9);
+        Map<String, Object> steps = new TreeMap<>();
+        stats.steps().forEach((step, stepStats) -> {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("ok", stepStats.successes());
+            summary.put("errors", stepStats.errors());
+            summary.put("errorRate", stepStats.errorRate());
+            summary.put("throughputPerSecond", stepStats.successes() / seconds);
+            summary.put("meanMillis", stepStats.latency().meanMillis());
+            for (double percentile : PERCENTILES) {
+                summary.put("p" + (int) percentile + "Millis", stepStats.latency().percentileMillis(percentile));
+            }
+            summary.put("maxMillis", stepStats.latency().maxMillis());
+            if (stepStats.firstError() != null) {
+                summary.put("firstError", stepStats.firstError());
+            }
+            steps.put(step, summary);
+        });
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("baseUrl", config.baseUrl());
+        report.put("sessions", config.sessions());
+        report.put("rampUpSeconds", config.rampUp().toSeconds());
+        report.put("durationSeconds", config.duration().toSeconds());
+        report.put("flows", config.flows().stream().map(Flow::cliName).toList());
+        report.put("elapsedSeconds", seconds);
+        report.put("steps", steps);
+        try {
+            if (file.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(file.toAbsolutePath().getParent());
+            }
+            Files.writeString(file, new Json().toJson(report), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write load report to " + file, e);
+        }
+    }
+}
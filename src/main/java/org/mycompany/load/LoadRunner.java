@@ -0,0 +1,129 @@
+package org.mycompany.load;
+
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Нагрузочный прогон: {@code sessions} виртуальных пользователей, у каждого своя сессия Chrome.
+ * Сессии запускаются равномерно в течение {@code rampUp}, затем все вместе по кругу выполняют сценарии
+ * до конца {@code duration}. Время шагов пишется в {@link LoadStats}; отдельный шаг "session.start" - запуск браузера.
+ * Если сессия упала, пользователь запускает новую.
+ */
+public final class LoadRunner {
+    private static final String SESSION_START = "session.start";
+    private static final Duration STOP_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadConfig config;
+    private final LoadStats stats = new LoadStats();
+
+    public LoadRunner(LoadConfig config) {
+        this.config = config;
+    }
+
+    public LoadReport run() throws InterruptedException {
+        long started = System.nanoTime();
+        long deadline = started + config.rampUp().toNanos() + config.duration().toNanos();
+        ExecutorService users = Executors.newFixedThreadPool(config.sessions());
+        List<Future<?>> futures = new ArrayList<>();
+        for (int user = 0; user < config.sessions(); user++) {
+            long startAt = started + config.rampUp().toNanos() * user / config.sessions();
+            futures.add(users.submit(() -> user(startAt, deadline)));
+        }
+        users.shutdown();
+        // Сценарий, начатый до конца прогона, доигрывается: даём запас на его шаги
+        if (!users.awaitTermination(config.rampUp().plus(config.duration()).plusMinutes(5).toSeconds(), TimeUnit.SECONDS)) {
+            futures.forEach(future -> future.cancel(true));
+            // Прерванные пользователи ещё закрывают браузеры и пишут в stats: отчёт - только после их остановки
+            if (!users.awaitTermination(STOP_TIMEOUT.toSeconds(), TimeUnit.SECONDS)) {
+                System.err.println("[load] Some sessions did not stop within " + STOP_TIMEOUT.toSeconds() + "s, the report may still change");
+            }
+        }
+        return new LoadReport(config, stats, Duration.ofNanos(System.nanoTime() - started));
+    }
+
+    private void user(long startAt, long deadline) {
+        sleepUntil(startAt);
+        WebDriver driver = null;
+        try {
+            while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                if (driver == null) {
+                    driver = startSession();
+                    if (driver == null) {
+                        sleepUntil(System.nanoTime() + TimeUnit.SECONDS.toNanos(1));
+                        continue;
+                    }
+                }
+                LoadSession session = new LoadSession(driver, config.baseUrl(), stats);
+                for (Flow flow : config.flows()) {
+                    if (System.nanoTime() >= deadline) {
+                        break;
+                    }
+                    try {
+                        flow.run(session);
+                    } catch (NoSuchSessionException e) {
+                        quit(driver);
+                        driver = null;
+                        break;
+                    } catch (RuntimeException e) {
+                        // Ошибка уже записана шагом, переходим к следующему сценарию
+                    }
+                    sleepUntil(System.nanoTime() + config.thinkTime().toNanos());
+                }
+            }
+        } finally {
+            quit(driver);
+        }
+    }
+
+    private WebDriver startSession() {
+        try {
+            return LoadSession.timed(stats, SESSION_START, () -> new ChromeDriver(options()));
+        } catch (WebDriverException e) {
+            return null;
+        }
+    }
+
+    private ChromeOptions options() {
+        ChromeOptions options = new ChromeOptions();
+        options.setPageLoadStrategy(PageLoadStrategy.NORMAL);
+        if (config.headless()) {
+            options.addArguments("--headless=new", "--window-size=1920,1080");
+        }
+        return options;
+    }
+
+    private static void quit(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        try {
+            driver.quit();
+        } catch (WebDriverException e) {
+            // Браузер уже закрыт
+        }
+    }
+
+    private static void sleepUntil(long nanoTime) {
+        long remaining = nanoTime - System.nanoTime();
+        if (remaining <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
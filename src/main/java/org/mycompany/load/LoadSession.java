@@ -0,0 +1,63 @@
+package org.mycompany.load;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Сессия браузера одного виртуального пользователя и запись времени шагов сценария в {@link LoadStats}.
+ */
+final class LoadSession {
+    private static final Duration STEP_TIMEOUT = Duration.ofSeconds(30);
+
+    private final WebDriver driver;
+    private final String baseUrl;
+    private final LoadStats stats;
+    private final WebDriverWait wait;
+
+    LoadSession(WebDriver driver, String baseUrl, LoadStats stats) {
+        this.driver = driver;
+        this.baseUrl = baseUrl;
+        this.stats = stats;
+        this.wait = new WebDriverWait(driver, STEP_TIMEOUT, Duration.ofMillis(50));
+    }
+
+    WebDriver driver() {
+        return driver;
+    }
+
+    void open(String page) {
+        driver.get(baseUrl + page);
+    }
+
+    <T> T await(ExpectedCondition<T> condition) {
+        return wait.until(condition);
+    }
+
+    /**
+     * Выполняет шаг и записывает его время. Ошибка записывается и пробрасывается: остаток сценария не выполняется,
+     * потому что следующие шаги зависят от состояния страницы после этого.
+     */
+    void step(String name, Runnable action) {
+        timed(stats, name, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    static <T> T timed(LoadStats stats, String name, Supplier<T> action) {
+        long started = System.nanoTime();
+        T result;
+        try {
+            result = action.get();
+        } catch (RuntimeException e) {
+            stats.failure(name, System.nanoTime() - started, e);
+            throw e;
+        }
+        stats.success(name, System.nanoTime() - started);
+        return result;
+    }
+}
@@ -0,0 +1,63 @@
+package org.mycompany.load;
+
+import org.mycompany.metrics.LatencyHistogram;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Статистика шагов за прогон: время успешных выполнений, число ошибок и первая ошибка каждого шага.
+ * Запись из потоков всех сессий без блокировок.
+ */
+public final class LoadStats {
+    private final Map<String, StepStats> steps = new ConcurrentHashMap<>();
+
+    public static final class StepStats {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicReference<String> firstError = new AtomicReference<>();
+
+        public LatencyHistogram latency() {
+            return latency;
+        }
+
+        public long successes() {
+            return latency.count();
+        }
+
+        public long errors() {
+            return errors.get();
+        }
+
+        public double errorRate() {
+            long total = successes() + errors();
+            return total == 0 ? 0 : (double) errors() / total;
+        }
+
+        public String firstError() {
+            return firstError.get();
+        }
+    }
+
+    void success(String step, long nanos) {
+        stats(step).latency.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    void failure(String step, long nanos, Throwable error) {
+        StepStats stats = stats(step);
+        stats.errors.incrementAndGet();
+        String message = error.getMessage() == null ? "" : error.getMessage().lines().findFirst().orElse("");
+        stats.firstError.compareAndSet(null, error.getClass().getSimpleName() + ": " + message);
+    }
+
+    public Map<String, StepStats> steps() {
+        return steps;
+    }
+
+    private StepStats stats(String step) {
+        return steps.computeIfAbsent(step, key -> new StepStats());
+    }
+}
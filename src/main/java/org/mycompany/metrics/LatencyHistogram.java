@@ -0,0 +1,101 @@
+package org.mycompany.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Потокобезопасная гистограмма задержек с логарифмическими корзинами (точность около 3%).
+ * Значения хранятся в микросекундах; запись - несколько атомарных операций без блокировок,
+ * поэтому гистограмму можно держать включённой на каждой команде WebDriver.
+ * Используется тестами (ui.metrics.CommandMetrics) и нагрузочным прогоном ({@link org.mycompany.Main}).
+ */
+public final class LatencyHistogram {
+    private static final int LINEAR_BUCKETS = 64;
+    private static final int SUB_BUCKETS = 32;
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int MAX_EXPONENT = 42;
+    private static final int BUCKETS = LINEAR_BUCKETS + (MAX_EXPONENT - 6 + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalMicros = new AtomicLong();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    public void record(long duration, TimeUnit unit) {
+        long micros = Math.max(0, unit.toMicros(duration));
+        counts.incrementAndGet(bucketOf(micros));
+        count.incrementAndGet();
+        totalMicros.addAndGet(micros);
+        maxMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    /**
+     * Добавляет все значения другой гистограммы (для сводки по нескольким гистограммам).
+     */
+    public void add(LatencyHistogram other) {
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            long bucketCount = other.counts.get(bucket);
+            if (bucketCount != 0) {
+                counts.addAndGet(bucket, bucketCount);
+            }
+        }
+        count.addAndGet(other.count.get());
+        totalMicros.addAndGet(other.totalMicros.get());
+        maxMicros.accumulateAndGet(other.maxMicros.get(), Math::max);
+    }
+
+    public long count() {
+        return count.get();
+    }
+
+    public double totalMillis() {
+        return totalMicros.get() / 1000.0;
+    }
+
+    public double maxMillis() {
+        return maxMicros.get() / 1000.0;
+    }
+
+    public double meanMillis() {
+        long n = count.get();
+        return n == 0 ? 0 : totalMillis() / n;
+    }
+
+    /**
+     * Перцентиль в миллисекундах, например {@code percentileMillis(99)}.
+     */
+    public double percentileMillis(double percentile) {
+        long n = count.get();
+        if (n == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * n));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts.get(bucket);
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(bucket), maxMicros.get()) / 1000.0;
+            }
+        }
+        return maxMillis();
+    }
+
+    static int bucketOf(long micros) {
+        if (micros < LINEAR_BUCKETS) {
+            return (int) micros;
+        }
+        int exponent = Math.min(MAX_EXPONENT, 63 - Long.numberOfLeadingZeros(micros));
+        long top = Math.min(2 * SUB_BUCKETS - 1, micros >>> (exponent - SUB_BUCKET_BITS));
+        return LINEAR_BUCKETS + (exponent - 6) * SUB_BUCKETS + (int) (top - SUB_BUCKETS);
+    }
+
+    static long upperBoundOf(int bucket) {
+        if (bucket < LINEAR_BUCKETS) {
+            return bucket;
+        }
+        int exponent = (bucket - LINEAR_BUCKETS) / SUB_BUCKETS + 6;
+        long top = (bucket - LINEAR_BUCKETS) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((top + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
@@ -1,66 +1,94 @@
 package ui;
 
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.openqa.selenium.*;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.interactions.Actions;
+import ui.actions.Gesture;
+import ui.artifacts.FailureArtifactsExtension;
+import ui.driver.DriverPoolExtension;
+import ui.metrics.CommandMetricsExtension;
+import ui.monitor.ResourceMonitorExtension;
+import ui.network.BlockRequests;
+import ui.network.RequestBlockingExtension;
+import ui.reset.PageReset;
+import ui.reset.ReadOnly;
+import ui.reset.ReloadAfter;
+import ui.schedule.DurationMethodOrderer;
+import ui.site.Page;
+import ui.snapshot.DomSnapshot;
+import ui.wait.Wait;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static ui.wait.Conditions.locationEquals;
 
 /**
  * Класс для тестирования страницы bonigarcia.dev/selenium-webdriver-java/drag-and-drop.html
  */
-@TestInstance(TestInstance.Lifecycle.PER_CLASS)
-@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@TestMethodOrder(DurationMethodOrderer.class)
+@ExtendWith({CommandMetricsExtension.class, DriverPoolExtension.class, RequestBlockingExtension.class, FailureArtifactsExtension.class, ResourceMonitorExtension.class})
+@BlockRequests
 public class DragAndDropTests {
-    private static final String BASE_URL = "https://bonigarcia.dev/selenium-webdriver-java/drag-and-drop.html";
+    private static final Page PAGE = Page.DRAG_AND_DROP;
     WebDriver driver;
     Actions actions;
 
-    @BeforeAll
-    void setUpAll() {
-        if (System.getProperty("local").equals("true")) {
-            System.setProperty("webdriver.chrome.driver", "src\\test\\resources\\chromedriver.exe");
-        }
-        // У нас здесь достаточно простые тесты, нет необходимости очищать и открывать новый браузер перед каждым из них
-        driver = new ChromeDriver();
-        driver.manage().window().maximize();
-        actions = new Actions(driver);
-    }
-
-    @AfterAll
-    void tearDown() {
-        driver.getPageSource();
-        driver.quit();
-    }
-
     @BeforeEach
-    void setup() {
-        driver.get(BASE_URL);
+    void setup(WebDriver driver, TestInfo testInfo) {
+        this.driver = driver;
+        actions = new Actions(driver);
+        PageReset.prepare(driver, PAGE, testInfo);
     }
 
     /**
      * Тест для проверки заголовка - тот ли сайт мы открыли
      */
     @Test
+    @ReadOnly
     void openWebFormPageTest() {
-        String actualMainTitle = driver.getTitle();
-        WebElement actualPageTitle = driver.findElement(By.className("display-6"));
+        By pageTitleLocator = By.className("display-6");
+        DomSnapshot page = DomSnapshot.take(driver, pageTitleLocator);
 
         assertAll(
-                () -> assertEquals("Hands-On Selenium WebDriver with Java", actualMainTitle),
-                () -> assertEquals("Drag and drop", actualPageTitle.getText())
+                () -> assertEquals("Hands-On Selenium WebDriver with Java", page.title()),
+                () -> assertEquals("Drag and drop", page.get(pageTitleLocator).text())
         );
     }
 
     @Test
-    void dragAndDropTest () throws InterruptedException {
+    @ReloadAfter
+    void dragAndDropTest () {
         WebElement draggable = driver.findElement(By.xpath("//div[@id='draggable']"));
         WebElement target = driver.findElement(By.xpath("//div[@id='target']"));
 
         actions.dragAndDrop(draggable,target).perform();
-        Thread.sleep(2000);
+        Wait.until(driver, locationEquals(draggable, target));
 
         assertEquals(draggable.getLocation(), target.getLocation(), "Element didn't move to target");
     }
+
+    /**
+     * Перетаскивание по ломаной: обход цели снизу и справа, затем на цель. Все точки пути - один жест (одна команда),
+     * положение обоих элементов - один снимок
+     */
+    @Test
+    @ReloadAfter
+    void dragAlongPathTest() {
+        By draggableLocator = By.id("draggable");
+        By targetLocator = By.id("target");
+        WebElement draggable = driver.findElement(draggableLocator);
+        WebElement target = driver.findElement(targetLocator);
+
+        Gesture.on(driver)
+                .press(draggable)
+                .moveBy(0, 150)
+                .moveBy(150, 0)
+                .moveBy(0, -150)
+                .moveTo(target)
+                .release()
+                .perform();
+        DomSnapshot page = DomSnapshot.take(driver, draggableLocator, targetLocator);
+
+        assertEquals(page.get(targetLocator).location(), page.get(draggableLocator).location(), "Element didn't move to target along the path");
+    }
 }
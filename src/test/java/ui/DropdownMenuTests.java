@@ -1,96 +1,112 @@
 package ui;
 
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.interactions.Actions;
+import ui.artifacts.FailureArtifactsExtension;
+import ui.driver.DriverPoolExtension;
+import ui.metrics.CommandMetricsExtension;
+import ui.monitor.ResourceMonitorExtension;
+import ui.network.BlockRequests;
+import ui.network.RequestBlockingExtension;
+import ui.reset.PageReset;
+import ui.reset.ReadOnly;
+import ui.reset.ReloadAfter;
+import ui.schedule.DurationMethodOrderer;
+import ui.site.Page;
+import ui.snapshot.DomSnapshot;
+import ui.visual.VisualAssert;
+import ui.wait.Wait;
 
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static ui.wait.Conditions.dropdownExpanded;
 
 /**
  * Класс для тестирования страницы bonigarcia.dev/selenium-webdriver-java/dropdown-menu.html
  */
-@TestInstance(TestInstance.Lifecycle.PER_CLASS)
-@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@TestMethodOrder(DurationMethodOrderer.class)
+@ExtendWith({CommandMetricsExtension.class, DriverPoolExtension.class, RequestBlockingExtension.class, FailureArtifactsExtension.class, ResourceMonitorExtension.class})
+@BlockRequests
 public class DropdownMenuTests {
-    private static final String BASE_URL = "https://bonigarcia.dev/selenium-webdriver-java/dropdown-menu.html";
+    private static final Page PAGE = Page.DROPDOWN_MENU;
     WebDriver driver;
     Actions actions;
     JavascriptExecutor js;
+    private static final By DROPDOWN_ITEMS_LOCATOR = By.xpath("./following-sibling::ul[contains(@class, 'dropdown-menu')]//a[@class='dropdown-item']");
     List<String> expectedItems = List.of("Action", "Another action", "Something else here", "Separated link");
 
-    @BeforeAll
-    void setUpAll() {
-        if (System.getProperty("local").equals("true")) {
-            System.setProperty("webdriver.chrome.driver", "src\\test\\resources\\chromedriver.exe");
-        }
-        // У нас здесь достаточно простые тесты, нет необходимости очищать и открывать новый браузер перед каждым из них
-        driver = new ChromeDriver();
-        driver.manage().window().maximize();
+    @BeforeEach
+    void setup(WebDriver driver, TestInfo testInfo) {
+        this.driver = driver;
         actions = new Actions(driver);
         js = (JavascriptExecutor) driver;
-    }
-
-    @AfterAll
-    void tearDown() {
-        driver.getPageSource();
-        driver.quit();
-    }
-
-    @BeforeEach
-    void setup() {
-        driver.get(BASE_URL);
+        PageReset.prepare(driver, PAGE, testInfo);
     }
 
     /**
      * Тест для проверки заголовка - тот ли сайт мы открыли
      */
     @Test
+    @ReadOnly
     void openWebFormPageTest() {
-        String actualMainTitle = driver.getTitle();
-        WebElement actualPageTitle = driver.findElement(By.className("display-6"));
+        By pageTitleLocator = By.className("display-6");
+        DomSnapshot page = DomSnapshot.take(driver, pageTitleLocator);
 
         assertAll(
-                () -> assertEquals("Hands-On Selenium WebDriver with Java", actualMainTitle),
-                () -> assertEquals("Dropdown menu", actualPageTitle.getText())
+                () -> assertEquals("Hands-On Selenium WebDriver with Java", page.title()),
+                () -> assertEquals("Dropdown menu", page.get(pageTitleLocator).text())
         );
     }
 
     @Test
-    void leftClickDropdownTest() throws InterruptedException {
+    @ReloadAfter
+    void leftClickDropdownTest() {
         WebElement leftClickDropdownMenu = driver.findElement(By.id("my-dropdown-1"));
         actions.click(leftClickDropdownMenu).perform();
-        Thread.sleep(1000);
+        Wait.until(driver, dropdownExpanded(leftClickDropdownMenu));
         List<String> actualItems = getDropdownItems(leftClickDropdownMenu);
         assertEquals(expectedItems, actualItems, "Элементы выпадающего меню не совпадают");
     }
 
     @Test
-    void rightClickDropdownTest() throws InterruptedException {
+    @ReloadAfter
+    void rightClickDropdownTest() {
         WebElement rightClickDropdownMenu = driver.findElement(By.id("my-dropdown-2"));
         actions.contextClick(rightClickDropdownMenu).perform();
-        Thread.sleep(1000);
+        Wait.until(driver, dropdownExpanded(rightClickDropdownMenu));
         List<String> actualItems = getDropdownItems(rightClickDropdownMenu);
         assertEquals(expectedItems, actualItems, "Элементы выпадающего меню не совпадают");
     }
 
     @Test
-    void doubleClickDropdownTest() throws InterruptedException {
+    @ReloadAfter
+    void doubleClickDropdownTest() {
         WebElement doubleClickDropdownMenu = driver.findElement(By.id("my-dropdown-3"));
         actions.doubleClick(doubleClickDropdownMenu).perform();
-        Thread.sleep(1000);
+        Wait.until(driver, dropdownExpanded(doubleClickDropdownMenu));
         List<String> actualItems = getDropdownItems(doubleClickDropdownMenu);
         assertEquals(expectedItems, actualItems, "Элементы выпадающего меню не совпадают");
     }
 
+    @Test
+    @ReloadAfter
+    void leftClickDropdownVisualTest() {
+        WebElement leftClickDropdownMenu = driver.findElement(By.id("my-dropdown-1"));
+        actions.click(leftClickDropdownMenu).perform();
+        WebElement menu = Wait.until(driver, dropdownExpanded(leftClickDropdownMenu));
+
+        VisualAssert.assertMatches(menu, "dropdown-menu/left-click-menu");
+    }
+
     private List<String> getDropdownItems(WebElement element) {
-        List<WebElement> dropdownItems = element.findElements(By.xpath("./following-sibling::ul[contains(@class, 'dropdown-menu')]//a[@class='dropdown-item']"));
-        return dropdownItems.stream().map(WebElement::getText).toList();
+        // Тексты всех пунктов меню одним снимком вместо getText() для каждого пункта
+        return DomSnapshot.take(driver, element, DROPDOWN_ITEMS_LOCATOR).texts(DROPDOWN_ITEMS_LOCATOR);
     }
 }
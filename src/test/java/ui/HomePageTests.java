@@ -1,10 +1,20 @@
 package ui;
 
 import org.junit.jupiter.api.*;
-import org.openqa.selenium.By;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
+import ui.artifacts.FailureArtifactsExtension;
+import ui.crawl.LinkCrawler;
+import ui.driver.DriverPool;
+import ui.driver.DriverPoolExtension;
+import ui.metrics.CommandMetricsExtension;
+import ui.monitor.ResourceMonitorExtension;
+import ui.network.BlockRequests;
+import ui.network.RequestBlockingExtension;
+import ui.reset.PageReset;
+import ui.reset.ReadOnly;
+import ui.schedule.DurationMethodOrderer;
+import ui.site.Page;
 
 import java.util.List;
 
@@ -13,37 +23,24 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 /**
  * Класс для тестирования сайта bonigarcia.dev/selenium-webdriver-java/
  */
-@TestInstance(TestInstance.Lifecycle.PER_CLASS)
-@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@TestMethodOrder(DurationMethodOrderer.class)
+@ExtendWith({CommandMetricsExtension.class, DriverPoolExtension.class, RequestBlockingExtension.class, FailureArtifactsExtension.class, ResourceMonitorExtension.class})
+@BlockRequests
 public class HomePageTests {
     WebDriver driver;
-    private static final String BASE_URL = "https://bonigarcia.dev/selenium-webdriver-java/";
-
-    @BeforeAll
-    void setUpAll() {
-        if (System.getProperty("local").equals("true")) {
-            System.setProperty("webdriver.chrome.driver", "src\\test\\resources\\chromedriver.exe");
-        }
-        // У нас здесь достаточно простые тесты, нет необходимости очищать и открывать новый браузер перед каждым из них
-        driver = new ChromeDriver();
-        driver.manage().window().maximize();
-    }
-
-    @AfterAll
-    void tearDown() {
-        driver.getPageSource();
-        driver.quit();
-    }
+    private static final Page PAGE = Page.HOME;
 
     @BeforeEach
-    void setup() {
-        driver.get(BASE_URL);
+    void setup(WebDriver driver, TestInfo testInfo) {
+        this.driver = driver;
+        PageReset.prepare(driver, PAGE, testInfo);
     }
 
     /**
      * Тест для проверки заголовка - тот ли сайт мы открыли
      */
     @Test
+    @ReadOnly
     void openHomePageTest() {
         String actualTitle = driver.getTitle();
 
@@ -51,30 +48,20 @@ public class HomePageTests {
     }
 
     /**
-     * Пример теста на проверку chapters - как можно было прокликать все ссылки по порядку
-     * Если не работает driver.navigate().back(); то нам нужно новую ссылку открывать не в том же окне, а в новом. Чтобы проверить новую открытую вкладку и закрыть её, а первое главное окно висело без изменений и мы могли к нему возвращаться, а у элементов не менялись id
+     * Проверка chapters: все ссылки собираются одним запросом и открываются параллельно во вкладках
+     * (LinkCrawler) - без кликов, navigate().back() и устаревших элементов
      */
     @Test
-    void openAllLinks() throws InterruptedException {
-        int qtyLinks = 0;
-        List<WebElement> chapters = driver.findElements(By.cssSelector("h5.card-title"));
-
-        if (!chapters.isEmpty()) {
-            for (WebElement chapter : chapters) {
-                System.out.println(chapter.getText());
-                List<WebElement> links = chapter.findElements(By.xpath("./../a")); // Поднимаемся наверх и ищем a элемент. Впереди точка, чтобы искал от относительного элемента
-                qtyLinks += links.size();
+    @ReadOnly
+    void openAllLinks(DriverPool pool) {
+        List<LinkCrawler.Link> links = LinkCrawler.collect(driver);
+        long chapters = links.stream().map(LinkCrawler.Link::chapter).distinct().count();
 
-                for (WebElement link : links){
-                    System.out.println(link.getText());
-                    link.click();
-                    Thread.sleep(1000);
-                    driver.navigate().back();
-                }
+        LinkCrawler.Report report = LinkCrawler.fromSystemProperties(pool).verify(driver, pool, links);
+        report.export();
 
-            }
-            assertEquals(6,chapters.size());
-            assertEquals(27,qtyLinks);
-        }
+        assertEquals(6, chapters);
+        assertEquals(27, links.size());
+        assertEquals(List.of(), report.failures());
     }
 }
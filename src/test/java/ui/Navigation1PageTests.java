@@ -1,63 +1,72 @@
 package ui;
 
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.interactions.Actions;
+import ui.artifacts.FailureArtifactsExtension;
+import ui.driver.DriverPoolExtension;
+import ui.metrics.CommandMetricsExtension;
+import ui.monitor.ResourceMonitorExtension;
+import ui.network.BlockRequests;
+import ui.network.RequestBlockingExtension;
+import ui.network.ResourceType;
+import ui.pages.NavigationPage;
+import ui.reset.PageReset;
+import ui.reset.ReadOnly;
+import ui.schedule.DurationMethodOrderer;
+import ui.site.Page;
+import ui.snapshot.DomSnapshot;
+import ui.trace.RecordTrace;
+import ui.trace.TraceExtension;
+import ui.wait.Wait;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static ui.wait.Conditions.stale;
 
 /**
  * Класс для тестирования страницы bonigarcia.dev/selenium-webdriver-java/navigation1.html
  */
-@TestInstance(TestInstance.Lifecycle.PER_CLASS)
-@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@TestMethodOrder(DurationMethodOrderer.class)
+@ExtendWith({CommandMetricsExtension.class, DriverPoolExtension.class, RequestBlockingExtension.class, FailureArtifactsExtension.class, ResourceMonitorExtension.class, TraceExtension.class})
+// Пагинация - обычные ссылки, скрипты страницы тестам не нужны
+@BlockRequests(types = {ResourceType.IMAGE, ResourceType.FONT, ResourceType.MEDIA, ResourceType.SCRIPT})
 public class Navigation1PageTests {
-    private static final String BASE_URL = "https://bonigarcia.dev/selenium-webdriver-java/navigation1.html";
+    private static final Page PAGE = Page.NAVIGATION1;
     private static final String PAGE_TITLE = "Navigation example";
     private static final String FIRST_PAGE_TEXT = "Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod tempor incididunt ut labore et dolore magna aliqua.";
     private static final String SECOND_PAGE_TEXT = "Ut enim ad minim veniam, quis nostrud exercitation ullamco laboris nisi ut aliquip ex ea commodo consequat. Duis aute irure dolor in reprehenderit in voluptate velit esse cillum dolore eu fugiat nulla pariatur.";
     private static final String THIRD_PAGE_TEXT = "Excepteur sint occaecat cupidatat non proident, sunt in culpa qui officia deserunt mollit anim id est laborum.";
+    private static final By PAGE_TITLE_LOCATOR = By.cssSelector("h1.display-6");
+    private static final By PAGE_TEXT_LOCATOR = By.cssSelector("p.lead");
+    private static final By PREVIOUS_BUTTON_ITEM_LOCATOR = By.xpath("//a[text()='Previous']/parent::li");
     WebDriver driver;
     Actions actions;
-
-    @BeforeAll
-    void setUpAll() {
-        if (System.getProperty("local").equals("true")) {
-            System.setProperty("webdriver.chrome.driver", "src\\test\\resources\\chromedriver.exe");
-        }
-        // У нас здесь достаточно простые тесты, нет необходимости очищать и открывать новый браузер перед каждым из них
-        driver = new ChromeDriver();
-        driver.manage().window().maximize();
-        actions = new Actions(driver);
-    }
-
-    @AfterAll
-    void tearDown() {
-        driver.getPageSource();
-        driver.quit();
-    }
+    NavigationPage navigationPage;
 
     @BeforeEach
-    void setup() {
-        driver.get(BASE_URL);
+    void setup(WebDriver driver, TestInfo testInfo) {
+        this.driver = driver;
+        actions = new Actions(driver);
+        navigationPage = new NavigationPage(driver);
+        PageReset.prepare(driver, PAGE, testInfo);
     }
 
     /**
      * Тест для проверки заголовка - тот ли сайт мы открыли
      */
     @Test
+    @ReadOnly
     void openWebFormPageTest() {
-        String actualMainTitle = driver.getTitle();
-        WebElement actualPageTitle = driver.findElement(By.className("display-6"));
-
-        checkPreviousButtonIsDisabled();
+        // Заголовок окна, заголовок страницы и состояние кнопки "Previous" - одним снимком
+        DomSnapshot page = DomSnapshot.take(driver, PAGE_TITLE_LOCATOR, PREVIOUS_BUTTON_ITEM_LOCATOR);
 
         assertAll(
-                () -> assertEquals("Hands-On Selenium WebDriver with Java", actualMainTitle),
-                () -> assertEquals(PAGE_TITLE, actualPageTitle.getText())
+                () -> assertEquals("Hands-On Selenium WebDriver with Java", page.title()),
+                () -> assertEquals(PAGE_TITLE, page.get(PAGE_TITLE_LOCATOR).text()),
+                () -> assertTrue(page.get(PREVIOUS_BUTTON_ITEM_LOCATOR).attribute("class").contains("disabled"), "Previous button is not disabled")
         );
     }
 
@@ -65,6 +74,7 @@ public class Navigation1PageTests {
      * Проверка текста и навигации
      */
     @Test
+    @ReadOnly
     void defaultPageTextTest() {
         WebElement actualPage1Text = driver.findElement(By.className("lead"));
         assertEquals(FIRST_PAGE_TEXT, actualPage1Text.getText());
@@ -74,6 +84,8 @@ public class Navigation1PageTests {
     void numberNavigationTest() {
         WebElement navigatePage3Button = driver.findElement(By.cssSelector("[href$='3.html']"));
         actions.moveToElement(navigatePage3Button).click().perform();
+        // Клик через Actions не ждёт перехода: ждём, пока старая ссылка устареет и третья страница будет готова
+        Wait.until(driver, stale(navigatePage3Button).and(Page.NAVIGATION3.ready()), Wait.PAGE_LOAD_TIMEOUT);
         WebElement actualPage3Text = driver.findElement(By.className("lead"));
 
         assertEquals(THIRD_PAGE_TEXT, actualPage3Text.getText());
@@ -81,48 +93,46 @@ public class Navigation1PageTests {
     }
 
     @Test
-    void previousButtonTest() throws InterruptedException {
-        WebElement previousButton = driver.findElement(By.xpath("//a[@class = 'page-link' and text() = 'Previous']"));
-        WebElement currentPageText = driver.findElement(By.xpath("//p[@class = 'lead']"));
+    @ReadOnly
+    void previousButtonTest() {
+        By previousButtonLocator = By.xpath("//a[@class = 'page-link' and text() = 'Previous']");
+        By currentPageTextLocator = By.xpath("//p[@class = 'lead']");
+        DomSnapshot page = DomSnapshot.take(driver, previousButtonLocator, currentPageTextLocator);
 
         assertAll(
-                () -> assertTrue(previousButton.isDisplayed()),
-                () -> assertTrue(previousButton.isEnabled()),
-                () -> assertEquals(FIRST_PAGE_TEXT, currentPageText.getText())
+                () -> assertTrue(page.get(previousButtonLocator).displayed()),
+                () -> assertTrue(page.get(previousButtonLocator).enabled()),
+                () -> assertEquals(FIRST_PAGE_TEXT, page.get(currentPageTextLocator).text())
         );
-        Thread.sleep(1000);
     }
 
     // Из разбора ДЗ2:
     @Test
-    void nextButtonNavigation() throws InterruptedException {
+    void nextButtonNavigation() {
         checkPreviousButtonIsDisabled();
         checkPageContent(PAGE_TITLE, FIRST_PAGE_TEXT);
 
-        clickNextButton();
-        Thread.sleep(1000);
+        clickNextButton(Page.NAVIGATION2);
         checkPageContent(PAGE_TITLE, SECOND_PAGE_TEXT);
 
-        clickNextButton();
-        Thread.sleep(1000);
+        clickNextButton(Page.NAVIGATION3);
         checkPageContent(PAGE_TITLE, THIRD_PAGE_TEXT);
     }
 
     @Test
-    void previousButtonNavigation() throws InterruptedException {
+    @RecordTrace
+    void previousButtonNavigation() {
         // Начинать надо с проверки того, что страницы вообще есть
         // Или же в начале класса заполнять базу данных тестовыми значениями, чтобы страницы появились
         checkPreviousButtonIsDisabled();
 
-        clickNextButton();
-        clickNextButton();
+        clickNextButton(Page.NAVIGATION2);
+        clickNextButton(Page.NAVIGATION3);
 
-        clickPreviousButton();
-        Thread.sleep(1000);
+        clickPreviousButton(Page.NAVIGATION2);
         checkPageContent(PAGE_TITLE, SECOND_PAGE_TEXT);
 
-        clickPreviousButton();
-        Thread.sleep(1000);
+        clickPreviousButton(Page.NAVIGATION1);
         checkPageContent(PAGE_TITLE, FIRST_PAGE_TEXT);
 
         checkPreviousButtonIsDisabled();
@@ -131,54 +141,48 @@ public class Navigation1PageTests {
     }
 
     @Test
-    void pageNumberButtonNavigationTest() throws InterruptedException {
+    void pageNumberButtonNavigationTest() {
         checkPreviousButtonIsDisabled();
 
         clickFirstPageButton();
-        Thread.sleep(1000);
         checkPageContent(PAGE_TITLE, FIRST_PAGE_TEXT);
 
         clickSecondPageButton();
-        Thread.sleep(1000);
         checkPageContent(PAGE_TITLE, SECOND_PAGE_TEXT);
 
         clickThirdPageButton();
-        Thread.sleep(1000);
         checkPageContent(PAGE_TITLE, THIRD_PAGE_TEXT);
     }
 
     private void checkPreviousButtonIsDisabled() {
-        WebElement previousButton = driver.findElement(By.xpath("//a[text()='Previous']"));
-        WebElement parentLi = previousButton.findElement(By.xpath("./parent::li"));
-        assertTrue(parentLi.getAttribute("class").contains("disabled"), "Previous button is not disabled");
+        assertTrue(navigationPage.isPreviousDisabled(), "Previous button is not disabled");
     }
 
-    private void clickNextButton() {
-        driver.findElement(By.xpath("//a[text()='Next']")).click();
+    private void clickNextButton(Page expectedPage) {
+        assertEquals(expectedPage, navigationPage.clickNext(), "Next leads to the wrong page");
     }
 
-    private void clickPreviousButton() {
-        driver.findElement(By.xpath("//a[text()='Previous']")).click();
+    private void clickPreviousButton(Page expectedPage) {
+        assertEquals(expectedPage, navigationPage.clickPrevious(), "Previous leads to the wrong page");
     }
 
     private void checkPageContent(String expectedPageTitle, String expectedPageText) {
-        WebElement pageTitleElement = driver.findElement(By.cssSelector("h1.display-6"));
-        WebElement pageTextElement = driver.findElement(By.cssSelector("p.lead"));
+        DomSnapshot page = DomSnapshot.take(driver, PAGE_TITLE_LOCATOR, PAGE_TEXT_LOCATOR);
         assertAll(
-                () -> assertEquals(expectedPageTitle,pageTitleElement.getText()),
-                () -> assertEquals(expectedPageText, pageTextElement.getText())
+                () -> assertEquals(expectedPageTitle, page.get(PAGE_TITLE_LOCATOR).text()),
+                () -> assertEquals(expectedPageText, page.get(PAGE_TEXT_LOCATOR).text())
         );
     }
 
     private void clickFirstPageButton() {
-        driver.findElement(By.xpath("//a[text()='1']")).click();
+        assertEquals(Page.NAVIGATION1, navigationPage.clickPage(1));
     }
 
     private void clickSecondPageButton() {
-        driver.findElement(By.xpath("//a[text()='2']")).click();
+        assertEquals(Page.NAVIGATION2, navigationPage.clickPage(2));
     }
 
     private void clickThirdPageButton() {
-        driver.findElement(By.xpath("//a[text()='3']")).click();
+        assertEquals(Page.NAVIGATION3, navigationPage.clickPage(3));
     }
 }
@@ -0,0 +1,49 @@
+package ui;
+
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestReporter;
+import ui.site.Site;
+import ui.trace.Trace;
+import ui.trace.TraceExtension;
+import ui.trace.TraceReplayer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Быстрая проверка: записанные трассы тестов ({@link ui.trace.RecordTrace}) воспроизводятся в новой сессии
+ * без кода тестов и ожиданий. Трассы записываются прогоном с -Dtrace.record=true, запуск - ./gradlew traceSmoke.
+ * Обычный прогон test и ShardRunner этот класс не запускают. Итог воспроизведения каждой трассы - в отчёте JUnit.
+ */
+@Tag("trace-smoke")
+public class TraceReplayTests {
+
+    @TestFactory
+    Stream<DynamicTest> recordedTracesReplayTest(TestReporter reporter) throws IOException {
+        Path directory = TraceExtension.directory();
+        assumeTrue(Files.isDirectory(directory), "No recorded traces in " + directory + "; run the tests with -Dtrace.record=true");
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.filter(file -> file.toString().endsWith(".wdtrace")).sorted().toList();
+        }
+        return files.stream().map(file -> DynamicTest.dynamicTest(file.getFileName().toString(), () -> {
+            Trace trace = Trace.read(file);
+            TraceReplayer.Result result;
+            try (TraceReplayer replayer = TraceReplayer.start()) {
+                result = replayer.replay(trace, Site.baseUrl());
+            }
+            reporter.publishEntry(file.getFileName().toString(), "recorded " + trace.summary() + "; " + result.summary());
+            assertTrue(result.divergences().isEmpty(), () -> "Replay diverged from the recorded run:\n"
+                    + result.divergences().stream().map(Object::toString).collect(Collectors.joining("\n")));
+        }));
+    }
+}
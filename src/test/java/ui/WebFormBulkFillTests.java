@@ -0,0 +1,93 @@
+package ui;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.openqa.selenium.WebDriver;
+import ui.artifacts.FailureArtifactsExtension;
+import ui.driver.DriverPool;
+import ui.driver.DriverPoolExtension;
+import ui.formfill.BulkFormFill;
+import ui.formfill.RowSource;
+import ui.metrics.CommandMetricsExtension;
+import ui.monitor.ResourceMonitorExtension;
+import ui.network.BlockRequests;
+import ui.network.RequestBlockingExtension;
+import ui.reset.PageReset;
+import ui.schedule.DurationMethodOrderer;
+import ui.site.Page;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Заполнение web-form.html большими наборами данных (ui.formfill.BulkFormFill): каждая строка заполняет все поля,
+ * состояние формы сравнивается с ожидаемым по правилам HTML
+ */
+@TestMethodOrder(DurationMethodOrderer.class)
+@ExtendWith({CommandMetricsExtension.class, DriverPoolExtension.class, RequestBlockingExtension.class, FailureArtifactsExtension.class, ResourceMonitorExtension.class})
+@BlockRequests
+class WebFormBulkFillTests {
+    private static final Page PAGE = Page.WEB_FORM;
+    WebDriver driver;
+    DriverPool pool;
+    TestInfo testInfo;
+
+    @BeforeEach
+    void setup(WebDriver driver, DriverPool pool, TestInfo testInfo) {
+        this.driver = driver;
+        this.pool = pool;
+        this.testInfo = testInfo;
+        PageReset.prepare(driver, PAGE, testInfo);
+    }
+
+    @Test
+    void csvRowsTest() {
+        BulkFormFill.Report report = fill(RowSource.csv(resource("formfill/rows.csv")));
+
+        assertAll(
+                () -> assertEquals(5, report.rows()),
+                () -> assertEquals(List.of(), report.mismatchSample())
+        );
+    }
+
+    @Test
+    void jsonRowsTest() {
+        BulkFormFill.Report report = fill(RowSource.json(resource("formfill/rows.json")));
+
+        assertAll(
+                () -> assertEquals(5, report.rows()),
+                () -> assertEquals(List.of(), report.mismatchSample())
+        );
+    }
+
+    /**
+     * Тысячи сочетаний: юникод, длинный текст, граничные даты и значения. Число строк - -Dformfill.rows
+     */
+    @Test
+    void generatedRowsTest() {
+        int rows = Integer.getInteger("formfill.rows", 1000);
+        BulkFormFill.Report report = fill(RowSource.generated(rows, 20250301L));
+
+        assertAll(
+                () -> assertEquals(rows, report.rows()),
+                () -> assertEquals(0, report.mismatches(), () -> "First mismatches: " + report.mismatchSample())
+        );
+    }
+
+    private BulkFormFill.Report fill(RowSource rows) {
+        BulkFormFill.Report report = BulkFormFill.fromSystemProperties(pool).run(driver, pool, rows);
+        report.export(testInfo.getTestMethod().orElseThrow().getName());
+        return report;
+    }
+
+    private static BufferedReader resource(String name) {
+        return new BufferedReader(new InputStreamReader(
+                Objects.requireNonNull(WebFormBulkFillTests.class.getClassLoader().getResourceAsStream(name), name),
+                StandardCharsets.UTF_8));
+    }
+}
@@ -1,68 +1,90 @@
 package ui;
 
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.openqa.selenium.*;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.ui.Select;
+import ui.actions.Gesture;
+import ui.artifacts.FailureArtifactsExtension;
+import ui.driver.DriverPoolExtension;
+import ui.metrics.CommandMetricsExtension;
+import ui.monitor.ResourceMonitorExtension;
+import ui.network.BlockRequests;
+import ui.network.RequestBlockingExtension;
+import ui.pages.WebFormPage;
+import ui.reset.PageReset;
+import ui.reset.ReadOnly;
+import ui.reset.ReloadAfter;
+import ui.schedule.DurationMethodOrderer;
+import ui.site.Page;
+import ui.site.Site;
+import ui.site.StandInServer;
+import ui.site.UploadReceiver;
+import ui.snapshot.DomSnapshot;
+import ui.snapshot.ElementState;
+import ui.trace.RecordTrace;
+import ui.trace.TraceExtension;
+import ui.upload.HeapPeak;
+import ui.upload.LargeFile;
+import ui.upload.UploadReport;
+import ui.visual.VisualAssert;
+import ui.wait.Wait;
 
 import java.io.File;
 import java.io.IOException;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static ui.assertions.ConcurrentAssertions.assertAllConcurrently;
 import static ui.Constants.*;
+import static ui.wait.Conditions.*;
 
 /**
  * Класс для тестирования страницы bonigarcia.dev/selenium-webdriver-java/web-form.html
  */
-@TestInstance(TestInstance.Lifecycle.PER_CLASS)
-@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@TestMethodOrder(DurationMethodOrderer.class)
+@ExtendWith({CommandMetricsExtension.class, DriverPoolExtension.class, RequestBlockingExtension.class, FailureArtifactsExtension.class, ResourceMonitorExtension.class, TraceExtension.class})
+@BlockRequests
 class WebFormTests {
-    private static final String BASE_URL = "https://bonigarcia.dev/selenium-webdriver-java/web-form.html";
+    private static final Page PAGE = Page.WEB_FORM;
+    private static final String BASE_URL = PAGE.url();
     WebDriver driver;
     Actions actions;
     JavascriptExecutor js;
+    WebFormPage webFormPage;
 
-    @BeforeAll
-    void setUpAll() {
-        if (System.getProperty("local").equals("true")) {
-            System.setProperty("webdriver.chrome.driver", "src\\test\\resources\\chromedriver.exe");
-        }
-        // У нас здесь достаточно простые тесты, нет необходимости очищать и открывать новый браузер перед каждым из них
-        driver = new ChromeDriver();
-        driver.manage().window().maximize();
+    @BeforeEach
+    void setup(WebDriver driver, TestInfo testInfo) {
+        this.driver = driver;
         actions = new Actions(driver);
         js = (JavascriptExecutor) driver;
-    }
-
-    @AfterAll
-    void tearDown() {
-        driver.getPageSource();
-        driver.quit();
-    }
-
-    @BeforeEach
-    void setup() {
-        driver.get(BASE_URL);
+        webFormPage = new WebFormPage(driver);
+        PageReset.prepare(driver, PAGE, testInfo);
     }
 
     /**
      * Тест для проверки заголовка - тот ли сайт мы открыли
      */
     @Test
+    @ReadOnly
     void openWebFormPageTest() {
-        String actualMainTitle = driver.getTitle();
-        WebElement actualPageTitle = driver.findElement(By.className("display-6"));
+        By pageTitleLocator = By.className("display-6");
+        DomSnapshot page = DomSnapshot.take(driver, pageTitleLocator);
 
         assertAll(
-                () -> assertEquals("Hands-On Selenium WebDriver with Java", actualMainTitle),
-                () -> assertEquals("Web form", actualPageTitle.getText())
+                () -> assertEquals("Hands-On Selenium WebDriver with Java", page.title()),
+                () -> assertEquals("Web form", page.get(pageTitleLocator).text())
         );
     }
 
@@ -119,12 +141,14 @@ class WebFormTests {
      * Проверка disabled поля
      */
     @Test
+    @ReadOnly
     void disabledInputTest() {
-        WebElement disabledInputForm = driver.findElement(By.name("my-disabled"));
+        By disabledInputLocator = By.name("my-disabled");
+        ElementState disabledInputForm = DomSnapshot.take(driver, disabledInputLocator).get(disabledInputLocator);
 
         assertAll(
-                () -> assertFalse(disabledInputForm.isEnabled(), "The field must be disabled"),
-                () -> assertEquals("Disabled input", disabledInputForm.getDomAttribute("placeholder"))
+                () -> assertFalse(disabledInputForm.enabled(), "The field must be disabled"),
+                () -> assertEquals("Disabled input", disabledInputForm.attribute("placeholder"))
         );
     }
 
@@ -145,13 +169,15 @@ class WebFormTests {
      * Проверка readonly поля
      */
     @Test
+    @ReadOnly
     void readonlyInputTest() {
-        WebElement readonlyInputForm = driver.findElement(By.name("my-readonly"));
+        By readonlyInputLocator = By.name("my-readonly");
+        ElementState readonlyInputForm = DomSnapshot.take(driver, readonlyInputLocator).get(readonlyInputLocator);
 
         assertAll(
-                () -> assertTrue(readonlyInputForm.isEnabled(), "The field must not be disabled - it's readonly"),
-                () -> assertNotNull(readonlyInputForm.getDomAttribute("readonly")),
-                () -> assertEquals("true", readonlyInputForm.getDomAttribute("readonly"))
+                () -> assertTrue(readonlyInputForm.enabled(), "The field must not be disabled - it's readonly"),
+                () -> assertNotNull(readonlyInputForm.attribute("readonly")),
+                () -> assertEquals("true", readonlyInputForm.attribute("readonly"))
         );
     }
 
@@ -186,43 +212,41 @@ class WebFormTests {
         select.selectByVisibleText("Three");
         String customVisibleText = select.getFirstSelectedOption().getText();
 
-        List<WebElement> options = select.getOptions();
-        for (WebElement option : options) {
-            System.out.printf("Available Option: %s isSelected = %s%n", option.getText(), option.isSelected());
-        }
+        // Все опции одним снимком вместо getText() и isSelected() для каждой
+        By optionsLocator = By.cssSelector("select[name='my-select'] option");
+        List<ElementState> options = DomSnapshot.take(driver, optionsLocator).all(optionsLocator);
+        List<String> selectedOptions = options.stream().filter(ElementState::selected).map(ElementState::text).toList();
 
-        int optionsCount = select.getOptions().size();
+        int optionsCount = options.size();
 
         assertAll(
                 () -> assertEquals("Open this select menu", defaultText),
                 () -> assertEquals("Two", customText),
                 () -> assertEquals("Three", customVisibleText),
-                () -> assertEquals(4, optionsCount)
+                () -> assertEquals(4, optionsCount),
+                () -> assertEquals(List.of("Three"), selectedOptions)
         );
     }
 
     @Test
-    void dropdownDataList() throws InterruptedException {
+    void dropdownDataList() {
         // Проверка возможности ввода
         WebElement dropdownDataListForm = driver.findElement(By.name("my-datalist"));
         dropdownDataListForm.sendKeys(TEST_TEXT);
-        Thread.sleep(2000);
-        String actualText = dropdownDataListForm.getDomProperty("value"); // getDomAttribute из HTML, getDomProperty - ввод пользователем в поле для ввода текста
+        String actualText = Wait.until(driver, valueChanged(dropdownDataListForm, EMPTY_TEXT)); // getDomAttribute из HTML, getDomProperty - ввод пользователем в поле для ввода текста
 
         // Проверка первой строки option
         WebElement dropdownDataListOption = driver.findElement(By.xpath("//datalist[@id='my-options']/option[1]"));
         String expectedOptionText = dropdownDataListOption.getDomAttribute("value");
         dropdownDataListForm.clear();
         dropdownDataListForm.sendKeys(expectedOptionText);
-        Thread.sleep(2000);
-        String actualText2 = dropdownDataListForm.getDomProperty("value");
+        String actualText2 = Wait.until(driver, valueChanged(dropdownDataListForm, EMPTY_TEXT));
 
         // Пример из видео разбора ДЗ
         dropdownDataListForm.clear();
         dropdownDataListForm.sendKeys("New Y");
-        Thread.sleep(2000);
+        Wait.until(driver, valueChanged(dropdownDataListForm, EMPTY_TEXT));
         dropdownDataListForm.click();
-        Thread.sleep(2000);
         js.executeScript("arguments[0].value = 'New York'; arguments[0].dispatchEvent(new Event('change'));", dropdownDataListForm);
         String actualText3 = dropdownDataListForm.getDomProperty(GET_ATTRIBUTE_VALUE);
         // Этот тест под сомнением. Когда была ошибка ввода (не стояло dropdownDataListForm.clear();), тест не сломался
@@ -240,7 +264,8 @@ class WebFormTests {
      * Проверка загрузки файла
      */
     @Test
-    void fileUploadTest() throws InterruptedException {
+    @RecordTrace
+    void fileUploadTest() {
         File file = new File(TEST_FILE_PATH);
         long fileSize = file.length(); // получение размера файла в байтах
         System.out.println("File size: " + fileSize + " bytes");
@@ -261,29 +286,70 @@ class WebFormTests {
         WebElement fileInputForm = driver.findElement(By.name("my-file"));
         fileInputForm.sendKeys(absolutePath);
         driver.findElement(By.cssSelector(".btn.btn-outline-primary.mt-3")).click();
-        Thread.sleep(2000);
+        Wait.until(driver, urlChanged(BASE_URL).and(documentReady()));
 
         WebElement formSubmittedText = driver.findElement(By.className("display-6"));
         WebElement receivedText = driver.findElement(By.className("lead"));
 
+        String currentUrl = driver.getCurrentUrl();
         assertAll(
-                () -> assertTrue(driver.getCurrentUrl().contains("submitted-form"), "Wrong url"),
-                () -> assertTrue(driver.getCurrentUrl().contains("test.txt"), "Url doesn't contain the file"),
+                () -> assertTrue(currentUrl.contains("submitted-form"), "Wrong url"),
+                () -> assertTrue(currentUrl.contains("test.txt"), "Url doesn't contain the file"),
                 () -> assertEquals("Form submitted", formSubmittedText.getText()),
                 () -> assertEquals("Received!", receivedText.getText())
         );
-        // Как узнать размер загруженного файла, чтобы сравнить с fileSize? Как сравнить хэшкод файла?
+        // Размер и хэш загруженного файла на принимающей стороне проверяет largeFileUploadTest
+    }
+
+    /**
+     * Загрузка большого файла (-Dupload.sizeMb, по умолчанию 64 МБ) на приёмник stand-in сервера.
+     * Размер и SHA-256 проверяются на принимающей стороне, скорость загрузки и пик heap тестовой JVM - в ui.upload.UploadReport.
+     * Не входит в обычный прогон: ./gradlew uploadThroughput. Форма должна быть с stand-in сервера, как и приёмник
+     */
+    @Test
+    @Tag("upload-throughput")
+    @ReloadAfter
+    void largeFileUploadTest(@TempDir Path dir) {
+        assumeTrue(Site.isStandIn(), "Upload receiver runs on the stand-in server, use -DstandIn=true");
+        long size = Long.getLong("upload.sizeMb", 64) * 1024 * 1024;
+        HeapPeak heap = HeapPeak.start();
+        LargeFile file = LargeFile.generate(dir.resolve("large-upload.bin"), size, 20250301L);
+        StandInServer receiver = Site.standInServer();
+        String uploadId = UUID.randomUUID().toString();
+
+        WebElement fileInputForm = driver.findElement(By.name("my-file"));
+        // Форма отправляет методом GET только имя файла: для загрузки содержимого направляем её на приёмник
+        js.executeScript("var form = arguments[0].form; form.method = 'post'; form.enctype = 'multipart/form-data'; form.action = arguments[1];",
+                fileInputForm, receiver.uploadUrl(uploadId));
+        fileInputForm.sendKeys(file.path().toString());
+        long started = System.nanoTime();
+        driver.findElement(By.cssSelector(".btn.btn-outline-primary.mt-3")).click();
+        // Не медленнее 10 МБ/с сверх обычного времени загрузки страницы
+        Duration timeout = Wait.PAGE_LOAD_TIMEOUT.plusSeconds(size / (10 * 1024 * 1024));
+        List<UploadReceiver.Upload> uploads = receiver.uploads().await(uploadId, timeout);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+        Wait.until(driver, urlContains("upload").and(documentReady()));
+        new UploadReport(size, elapsed, heap.peakBytes()).export();
+
+        // Страница читается в потоке теста, одновременно - только проверки без драйвера (хэш файла на диске)
+        String receivedText = driver.findElement(By.className("lead")).getText();
+        assertAllConcurrently(
+                () -> assertEquals(1, uploads.size(), "Expected one uploaded file"),
+                () -> assertEquals(file.size(), uploads.get(0).size(), "Uploaded size differs"),
+                () -> assertEquals(file.sha256(), uploads.get(0).sha256(), "Uploaded file hash differs"),
+                () -> assertEquals(file.sha256(), LargeFile.sha256(file.path()), "File changed on disk"),
+                () -> assertEquals("Received!", receivedText)
+        );
     }
 
     // Из разбора ДЗ:
     @Test
-    void fileUploadTest2() throws InterruptedException {
+    void fileUploadTest2() {
         WebElement fileInputForm = driver.findElement(By.name("my-file"));
         String fileName = "test.txt";
         File file = new File(TEST_FILE_PATH);
         fileInputForm.sendKeys(file.getAbsolutePath());
         assertEquals("C:\\fakepath\\" + fileName, fileInputForm.getDomProperty(GET_ATTRIBUTE_VALUE));
-        Thread.sleep(1000);
     }
 
     /**
@@ -310,29 +376,32 @@ class WebFormTests {
     }
 
     @Test
+    @ReadOnly
     void checkedRadioTest() {
-        WebElement checkedRadioForm = driver.findElement(By.id("my-radio-1"));
-        boolean actualRadioStatus = checkedRadioForm.isSelected();
+        By checkedRadioLocator = By.id("my-radio-1");
+        boolean actualRadioStatus = DomSnapshot.take(driver, checkedRadioLocator).get(checkedRadioLocator).selected();
 
         assertTrue(actualRadioStatus);
     }
 
     @Test
+    @ReadOnly
     void defaultRadioTest() {
-        WebElement defaultRadioForm = driver.findElement(By.id("my-radio-2"));
-        boolean actualRadioStatus = defaultRadioForm.isSelected();
+        By defaultRadioLocator = By.id("my-radio-2");
+        boolean actualRadioStatus = DomSnapshot.take(driver, defaultRadioLocator).get(defaultRadioLocator).selected();
 
         assertFalse(actualRadioStatus);
     }
 
     @Test
     void checkedAndDefaultRadioTest() {
-        WebElement checkedRadioForm = driver.findElement(By.id("my-radio-1"));
-        WebElement defaultRadioForm = driver.findElement(By.id("my-radio-2"));
+        By checkedRadioLocator = By.id("my-radio-1");
+        By defaultRadioLocator = By.id("my-radio-2");
 
-        defaultRadioForm.click();
-        boolean actualCheckedRadioStatus = checkedRadioForm.isSelected();
-        boolean actualDefaultRadioStatus = defaultRadioForm.isSelected();
+        driver.findElement(defaultRadioLocator).click();
+        DomSnapshot radios = DomSnapshot.take(driver, checkedRadioLocator, defaultRadioLocator);
+        boolean actualCheckedRadioStatus = radios.get(checkedRadioLocator).selected();
+        boolean actualDefaultRadioStatus = radios.get(defaultRadioLocator).selected();
 
         assertAll(
                 () -> assertFalse(actualCheckedRadioStatus),
@@ -363,33 +432,31 @@ class WebFormTests {
      * Проверка работы с датой
      */
     @Test
-    void datePickerTextTest() throws InterruptedException {
-        WebElement datePickerForm = driver.findElement(By.name("my-date"));
+    void datePickerTextTest() {
+        WebElement datePickerForm = webFormPage.dateInput();
 
         datePickerForm.sendKeys("03 03 1988");
         datePickerForm.sendKeys(Keys.ENTER);
-        Thread.sleep(2000);
+        String actualDate = Wait.until(driver, valueChanged(datePickerForm, EMPTY_TEXT));
 
-        assertEquals("03/03/1988", datePickerForm.getDomProperty(GET_ATTRIBUTE_VALUE), "Date format not working or else");
+        assertEquals("03/03/1988", actualDate, "Date format not working or else");
     }
 
     @Test
-    void datePickerTextTest2() throws InterruptedException {
-        WebElement datePickerForm = driver.findElement(By.name("my-date"));
+    void datePickerTextTest2() {
+        WebElement datePickerForm = webFormPage.dateInput();
         assertTrue(datePickerForm.getDomProperty(GET_ATTRIBUTE_VALUE).isEmpty(), "По умолчанию поле должно быть пустым");
 
         String date = LocalDate.now().format(DateTimeFormatter.ofPattern("MM/dd/yyyy"));
         System.out.println(date);
-        Thread.sleep(2000);
         js.executeScript("document.querySelector('input[name=\"my-date\"]').value='" + date + "';");
-        Thread.sleep(2000);
-        String selectDate = datePickerForm.getDomProperty(GET_ATTRIBUTE_VALUE);
+        String selectDate = Wait.until(driver, valueChanged(datePickerForm, EMPTY_TEXT));
         assertEquals(date, selectDate, "Dates doesn't match");
     }
 
     @Test
     void datePickerMouseTest() {
-        WebElement datePickerForm = driver.findElement(By.name("my-date"));
+        WebElement datePickerForm = webFormPage.dateInput();
 
         actions.moveToElement(datePickerForm).click().perform();
         WebElement datePickerOptions = driver.findElement(By.cssSelector("div.datepicker-days table.table-condensed td.day:nth-child(2)"));
@@ -408,7 +475,7 @@ class WebFormTests {
     @Test
     void datePickerMouseTest2() {
         String dateFormat = "MM/dd/yyyy";
-        WebElement datePickerForm = driver.findElement(By.name("my-date"));
+        WebElement datePickerForm = webFormPage.dateInput();
         if (datePickerForm.getDomProperty(GET_ATTRIBUTE_VALUE) != null) {
             assertTrue(datePickerForm.getDomProperty(GET_ATTRIBUTE_VALUE).isEmpty(), "Some day is selected");
         }
@@ -423,9 +490,24 @@ class WebFormTests {
         assertEquals(newDate.format(DateTimeFormatter.ofPattern(dateFormat)), datePickerForm.getDomProperty(GET_ATTRIBUTE_VALUE), "Incorrect date selected");
     }
 
+    /**
+     * Визуальная проверка всплывающего календаря. Дата фиксирована, чтобы картинка не зависела от текущего месяца
+     */
+    @Test
+    @ReloadAfter
+    void datePickerVisualTest() {
+        WebElement datePickerForm = webFormPage.dateInput();
+        js.executeScript("arguments[0].value = '03/03/1988';", datePickerForm);
+
+        datePickerForm.click();
+        WebElement datePicker = Wait.until(driver, visible(By.cssSelector("div.datepicker")));
+
+        VisualAssert.assertMatches(datePicker, "web-form/datepicker-1988-03");
+    }
+
     @Test
     void rangePickerKeysTest() {
-        WebElement exampleRangeForm = driver.findElement(By.name("my-range"));
+        WebElement exampleRangeForm = webFormPage.rangeInput();
 
         exampleRangeForm.sendKeys(Keys.ARROW_RIGHT);
 
@@ -433,8 +515,8 @@ class WebFormTests {
     }
 
     @Test
-    void rangePickerMouseTest() throws InterruptedException {
-        WebElement exampleRangeForm = driver.findElement(By.name("my-range"));
+    void rangePickerMouseTest() {
+        WebElement exampleRangeForm = webFormPage.rangeInput();
         exampleRangeForm.click();
         String initialValue = exampleRangeForm.getDomProperty(GET_ATTRIBUTE_VALUE);
 //        int size = 600;
@@ -445,26 +527,17 @@ class WebFormTests {
                 .moveByOffset(step, 0)
                 .release()
                 .perform();
-        Thread.sleep(1000);
-        String newValue = exampleRangeForm.getDomProperty(GET_ATTRIBUTE_VALUE);
+        String newValue = Wait.until(driver, valueChanged(exampleRangeForm, initialValue));
 
         assertNotEquals(initialValue, newValue, "Ползунок не сдвинулся");
     }
 
-    // Другой пример такого же теста
+    // Другой пример такого же теста: проход ползунка через все 10 положений
     @Test
-    void rangePickerMouseTest2() throws InterruptedException {
-        WebElement exampleRangeForm = driver.findElement(By.name("my-range"));
-        int width = exampleRangeForm.getSize().getWidth();
-        int x = exampleRangeForm.getLocation().getX();
-        int y = exampleRangeForm.getLocation().getY();
-        for (int i = 0; i < 0; i++) {
-            actions.moveToElement(exampleRangeForm)
-                    .clickAndHold()
-                    .moveToLocation(x + width / 10 * i, y)
-                    .release()
-                    .perform();
-            assertEquals(String.valueOf(i), exampleRangeForm.getDomProperty(GET_ATTRIBUTE_VALUE));
-        }
+    void rangePickerMouseTest2() {
+        // Весь проход - одна команда Actions, значения после каждого шага читаются одним запросом (Gesture)
+        List<String> values = Gesture.sweepSlider(driver, webFormPage.rangeInput(), 10);
+
+        assertEquals(IntStream.rangeClosed(0, 10).mapToObj(String::valueOf).toList(), values);
     }
 }
@@ -0,0 +1,150 @@
+package ui.actions;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.interactions.Actions;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Жест мышью, который уходит в браузер одной командой W3C Actions: нажатие, любое число перемещений, отпускание.
+ * <p>
+ * Промежуточные состояния не читаются после каждого шага. Вместо этого перед жестом {@link #record} вешает
+ * на элемент слушатель события, который складывает значения в массив на странице, а после жеста
+ * {@link #perform()} забирает их одним запросом. Проход ползунка через 10 позиций - три команды
+ * (запись, жест, результат) вместо perform() и getDomProperty() на каждом шаге.
+ * <p>
+ * Смещения - от центра элемента, как в {@link Actions#moveToElement(WebElement, int, int)}.
+ */
+public final class Gesture {
+    // Ширина бегунка ползунка: 1rem в Bootstrap (.form-range), столько же у Chrome по умолчанию
+    private static final int SLIDER_THUMB_WIDTH = 16;
+    private static final String RECORD_SCRIPT = """
+            var el = arguments[0];
+            el.scrollIntoView({block: 'center', inline: 'center'});
+            var samples = [];
+            var listener = function () { samples.push(%1$s); };
+            el.addEventListener('%2$s', listener);
+            window.__gestureStop = function () {
+                el.removeEventListener('%2$s', listener);
+                delete window.__gestureStop;
+                return samples;
+            };
+            var rect = el.getBoundingClientRect();
+            return [rect.left, rect.top, rect.width, rect.height];
+            """;
+    private static final String STOP_SCRIPT = "return window.__gestureStop ? window.__gestureStop() : [];";
+
+    private final WebDriver driver;
+    private final Actions actions;
+    private Rectangle recordedBounds;
+
+    private Gesture(WebDriver driver) {
+        this.driver = driver;
+        this.actions = new Actions(driver);
+    }
+
+    public static Gesture on(WebDriver driver) {
+        return new Gesture(driver);
+    }
+
+    /**
+     * Записывать {@code expression} (JavaScript, элемент доступен как {@code el}) при каждом событии {@code event}
+     * на элементе. Элемент прокручивается в видимую область, его границы доступны через {@link #recordedBounds()}.
+     * Запись в жесте одна.
+     */
+    @SuppressWarnings("unchecked")
+    public Gesture record(WebElement element, String event, String expression) {
+        if (recordedBounds != null) {
+            throw new IllegalStateException("Gesture already records an element");
+        }
+        List<Number> rect = (List<Number>) ((JavascriptExecutor) driver)
+                .executeScript(String.format(RECORD_SCRIPT, expression, event), element);
+        recordedBounds = new Rectangle(rect.get(0).intValue(), rect.get(1).intValue(), rect.get(3).intValue(), rect.get(2).intValue());
+        return this;
+    }
+
+    /**
+     * Границы записываемого элемента в координатах окна - без отдельного запроса getRect().
+     */
+    public Rectangle recordedBounds() {
+        if (recordedBounds == null) {
+            throw new IllegalStateException("Nothing is recorded");
+        }
+        return recordedBounds;
+    }
+
+    public Gesture press(WebElement element) {
+        actions.moveToElement(element).clickAndHold();
+        return this;
+    }
+
+    public Gesture press(WebElement element, int xOffset, int yOffset) {
+        actions.moveToElement(element, xOffset, yOffset).clickAndHold();
+        return this;
+    }
+
+    public Gesture moveTo(WebElement element) {
+        actions.moveToElement(element);
+        return this;
+    }
+
+    public Gesture moveTo(WebElement element, int xOffset, int yOffset) {
+        actions.moveToElement(element, xOffset, yOffset);
+        return this;
+    }
+
+    public Gesture moveBy(int xOffset, int yOffset) {
+        actions.moveByOffset(xOffset, yOffset);
+        return this;
+    }
+
+    public Gesture pause(Duration duration) {
+        actions.pause(duration);
+        return this;
+    }
+
+    public Gesture release() {
+        actions.release();
+        return this;
+    }
+
+    /**
+     * Отправляет весь жест одной командой и возвращает записанные значения (пустой список, если записи не было).
+     */
+    @SuppressWarnings("unchecked")
+    public List<Object> perform() {
+        actions.perform();
+        if (recordedBounds == null) {
+            return List.of();
+        }
+        return (List<Object>) ((JavascriptExecutor) driver).executeScript(STOP_SCRIPT);
+    }
+
+    /**
+     * Протягивает ползунок от минимума через все {@code steps} шагов до максимума одним жестом.
+     * Возвращает значения, которые ползунок принимал по ходу (по событию input), - при исправном ползунке
+     * это все позиции от минимума до максимума.
+     */
+    public static List<String> sweepSlider(WebDriver driver, WebElement slider, int steps) {
+        Gesture gesture = on(driver).record(slider, "input", "el.value");
+        int width = gesture.recordedBounds().getWidth();
+        gesture.press(slider, sliderOffset(width, 0, steps), 0);
+        for (int step = 1; step <= steps; step++) {
+            gesture.moveTo(slider, sliderOffset(width, step, steps), 0);
+        }
+        return gesture.release().perform().stream().map(String::valueOf).toList();
+    }
+
+    /**
+     * Смещение от центра ползунка до положения бегунка на шаге {@code step}: бегунок ходит между
+     * половинами своей ширины у краёв.
+     */
+    static int sliderOffset(int width, int step, int steps) {
+        double track = width - SLIDER_THUMB_WIDTH;
+        return (int) Math.round(SLIDER_THUMB_WIDTH / 2.0 + track * step / steps - width / 2.0);
+    }
+}
@@ -0,0 +1,160 @@
+package ui.artifacts;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+import ui.driver.DriverLease;
+import ui.driver.DriverPoolExtension;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Сохраняет состояние браузера, только если тест упал: адрес страницы, скриншот, исходный код страницы
+ * и сообщения консоли браузера за время теста. Успешные тесты не делают ни одной лишней команды.
+ * <p>
+ * Данные снимаются в потоке теста сразу после его выполнения, до @AfterEach и до возврата сессии в пул.
+ * Запись и сжатие файлов выполняются в фоновом потоке, следующий тест их не ждёт;
+ * в конце прогона расширение дожидается записи всех файлов.
+ * <p>
+ * Файлы пишутся в {@code <artifacts.dir>/<класс>/<метод>} (по умолчанию build/reports/failures).
+ * Регистрируется после DriverPoolExtension.
+ */
+public class FailureArtifactsExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(FailureArtifactsExtension.class);
+    private static final Path ARTIFACTS_DIR = Path.of(System.getProperty("artifacts.dir", "build/reports/failures"));
+    private static final Map<Path, AtomicInteger> DIRECTORIES = new ConcurrentHashMap<>();
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        // Сообщения консоли копятся в сессии пула за все тесты, поэтому берём только те, что появились после начала теста
+        context.getStore(NAMESPACE).put(Long.class, System.currentTimeMillis());
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        Throwable failure = context.getExecutionException().orElse(null);
+        DriverLease lease = DriverPoolExtension.lease(context);
+        if (failure == null || lease == null) {
+            return;
+        }
+        long started = context.getStore(NAMESPACE).getOrDefault(Long.class, Long.class, 0L);
+        Map<String, byte[]> files = capture(lease.driver(), started, failure);
+        Path directory = directory(context);
+        writer(context).execute(() -> write(directory, files));
+    }
+
+    private static Map<String, byte[]> capture(WebDriver driver, long started, Throwable failure) {
+        Map<String, byte[]> files = new LinkedHashMap<>();
+        files.put("failure.txt", utf8(stackTrace(failure)));
+        StringBuilder errors = new StringBuilder();
+        // Каждая часть снимается отдельно: если браузер упал, остальные всё равно сохранятся
+        try {
+            files.put("url.txt", utf8(driver.getCurrentUrl()));
+        } catch (WebDriverException e) {
+            errors.append("url: ").append(e.getMessage()).append('\n');
+        }
+        try {
+            files.put("screenshot.png", ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES));
+        } catch (WebDriverException e) {
+            errors.append("screenshot: ").append(e.getMessage()).append('\n');
+        }
+        try {
+            files.put("page.html.gz", utf8(driver.getPageSource()));
+        } catch (WebDriverException e) {
+            errors.append("page source: ").append(e.getMessage()).append('\n');
+        }
+        try {
+            files.put("console.log.gz", utf8(driver.manage().logs().get(LogType.BROWSER).getAll().stream()
+                    .filter(entry -> entry.getTimestamp() >= started)
+                    .map(LogEntry::toString)
+                    .collect(Collectors.joining("\n"))));
+        } catch (WebDriverException | UnsupportedOperationException e) {
+            errors.append("console: ").append(e.getMessage()).append('\n');
+        }
+        if (!errors.isEmpty()) {
+            files.put("capture-errors.txt", utf8(errors.toString()));
+        }
+        return files;
+    }
+
+    private static void write(Path directory, Map<String, byte[]> files) {
+        try {
+            Files.createDirectories(directory);
+            for (Map.Entry<String, byte[]> file : files.entrySet()) {
+                try (OutputStream out = file.getKey().endsWith(".gz")
+                        ? new GZIPOutputStream(Files.newOutputStream(directory.resolve(file.getKey())))
+                        : Files.newOutputStream(directory.resolve(file.getKey()))) {
+                    out.write(file.getValue());
+                }
+            }
+            System.out.println("[artifacts] " + directory.toAbsolutePath());
+        } catch (IOException e) {
+            // Ошибка записи не должна влиять на результаты тестов
+            System.out.println("[artifacts] Failed to write " + directory + ": " + e);
+        }
+    }
+
+    private static Path directory(ExtensionContext context) {
+        Path directory = ARTIFACTS_DIR.resolve(context.getRequiredTestClass().getSimpleName())
+                .resolve(context.getRequiredTestMethod().getName());
+        // Повторные и параметризованные запуски одного метода получают свои каталоги
+        int run = DIRECTORIES.computeIfAbsent(directory, key -> new AtomicInteger()).incrementAndGet();
+        return run == 1 ? directory : directory.resolveSibling(directory.getFileName() + "-" + run);
+    }
+
+    private static ExecutorService writer(ExtensionContext context) {
+        return context.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(Writer.class, key -> new Writer(), Writer.class)
+                .executor;
+    }
+
+    private static String stackTrace(Throwable failure) {
+        StringWriter out = new StringWriter();
+        failure.printStackTrace(new PrintWriter(out));
+        return out.toString();
+    }
+
+    private static byte[] utf8(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Фоновый поток записи. Закрывается вместе с корневым контекстом и дожидается незаписанных файлов.
+     */
+    private static final class Writer implements ExtensionContext.Store.CloseableResource {
+        private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "failure-artifacts");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        @Override
+        public void close() throws InterruptedException {
+            executor.shutdown();
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                System.out.println("[artifacts] Not all failure artifacts were written");
+            }
+        }
+    }
+}
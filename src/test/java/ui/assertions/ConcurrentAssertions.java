@@ -0,0 +1,100 @@
+package ui.assertions;
+
+import org.junit.jupiter.api.function.Executable;
+import org.opentest4j.MultipleFailuresError;
+import ui.metrics.CommandMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Независимые проверки, которые долго считают или ждут диска (хэш файла, сравнение с приёмником загрузки),
+ * выполняются одновременно в отдельных потоках, а не по очереди, как в {@code assertAll}.
+ * Время блока - самая долгая проверка, а не сумма.
+ * <p>
+ * Проверки не должны обращаться к WebDriver: драйвер не рассчитан на вызовы из нескольких потоков.
+ * Страницу читают заранее в потоке теста (лучше одним скриптом {@link ui.snapshot.DomSnapshot}),
+ * а сюда передают уже прочитанные значения. Для одновременной работы с браузером нужны отдельные сессии из пула
+ * (как в {@link ui.crawl.LinkCrawler}).
+ * <p>
+ * Время, записанное из этих потоков в {@link CommandMetrics}, учитывается как время текущего теста.
+ */
+public final class ConcurrentAssertions {
+
+    private ConcurrentAssertions() {
+        throw new AssertionError("Cannot instantiate ConcurrentAssertions class");
+    }
+
+    /**
+     * Как {@code Assertions.assertAll}: выполняются все проверки, упавшие собираются в один
+     * {@link MultipleFailuresError} в порядке объявления.
+     */
+    public static void assertAllConcurrently(Executable... executables) {
+        assertAllConcurrently(null, executables);
+    }
+
+    public static void assertAllConcurrently(String heading, Executable... executables) {
+        List<Throwable> failures = run(executables);
+        failures.forEach(ConcurrentAssertions::rethrowIfUnrecoverable);
+        if (!failures.isEmpty()) {
+            MultipleFailuresError error = new MultipleFailuresError(heading, failures);
+            failures.forEach(error::addSuppressed);
+            throw error;
+        }
+    }
+
+    /**
+     * Упавшие проверки в порядке объявления.
+     */
+    private static List<Throwable> run(Executable... executables) {
+        List<Throwable> failures = new ArrayList<>();
+        // Проверок в блоке единицы, и они в основном ждут диска: по потоку на каждую
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, executables.length), runnable -> {
+            Thread thread = new Thread(runnable, "concurrent-assertion");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<Object>> futures = new ArrayList<>();
+            for (Executable executable : executables) {
+                futures.add(executor.submit(CommandMetrics.inCurrentTest(() -> {
+                    try {
+                        executable.execute();
+                    } catch (Throwable failure) {
+                        rethrow(failure);
+                    }
+                    return null;
+                })));
+            }
+            for (Future<Object> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    failures.add(e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    futures.forEach(pending -> pending.cancel(true));
+                    throw new IllegalStateException("Interrupted while waiting for concurrent assertions", e);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return failures;
+    }
+
+    private static void rethrowIfUnrecoverable(Throwable failure) {
+        if (failure instanceof OutOfMemoryError || failure instanceof LinkageError) {
+            rethrow(failure);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E extends Throwable> void rethrow(Throwable failure) throws E {
+        throw (E) failure;
+    }
+}
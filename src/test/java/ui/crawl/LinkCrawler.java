@@ -0,0 +1,261 @@
+package ui.crawl;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.json.Json;
+import ui.driver.DriverLease;
+import ui.driver.DriverPool;
+import ui.wait.Condition;
+import ui.wait.Wait;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Проверка ссылок без кликов и navigate().back().
+ * <p>
+ * {@link #collect(WebDriver)} собирает все ссылки глав одним скриптом. {@link #verify} открывает их параллельно:
+ * каждый исполнитель (сессия браузера) берёт из общей очереди по {@code tabs} ссылок, открывает их в новых вкладках
+ * через window.open - страницы грузятся одновременно, - затем читает статус ответа и время загрузки
+ * из Navigation Timing и закрывает вкладки. Первый исполнитель - сессия самого теста, дополнительные
+ * берутся из пула только если там есть свободное место, поэтому проверка не отнимает сессии у других тестов.
+ * Общее время зависит от числа исполнителей и вкладок, а не от числа ссылок.
+ */
+public final class LinkCrawler {
+    private static final String COLLECT_SCRIPT = """
+            return Array.from(document.querySelectorAll(arguments[0])).flatMap(function (title) {
+                return Array.from(title.parentElement.querySelectorAll(':scope > a')).map(function (a) {
+                    return [title.textContent.trim(), a.textContent.trim(), a.href];
+                });
+            });
+            """;
+    // Запись появляется после окончания события load; responseStatus есть в Chrome 109+
+    private static final String NAVIGATION_SCRIPT = """
+            var nav = performance.getEntriesByType('navigation')[0];
+            if (!nav || nav.loadEventEnd === 0) return null;
+            return {status: nav.responseStatus || 0, loadMillis: Math.round(nav.loadEventEnd - nav.startTime), title: document.title};
+            """;
+    private static final Condition<Object> LOADED = Condition.named("navigation entry is complete",
+            driver -> ((JavascriptExecutor) driver).executeScript(NAVIGATION_SCRIPT));
+
+    private final int workers;
+    private final int tabs;
+    private final Duration loadTimeout;
+
+    public LinkCrawler(int workers, int tabs, Duration loadTimeout) {
+        if (workers < 1 || tabs < 1) {
+            throw new IllegalArgumentException("Workers and tabs must be positive");
+        }
+        this.workers = workers;
+        this.tabs = tabs;
+        this.loadTimeout = loadTimeout;
+    }
+
+    /**
+     * Настройки из системных свойств: crawl.workers (по умолчанию - размер пула), crawl.tabs (4), crawl.timeoutSeconds (30).
+     */
+    public static LinkCrawler fromSystemProperties(DriverPool pool) {
+        return new LinkCrawler(Integer.getInteger("crawl.workers", pool.maxSize()),
+                Integer.getInteger("crawl.tabs", 4),
+                Duration.ofSeconds(Integer.getInteger("crawl.timeoutSeconds", 30)));
+    }
+
+    /**
+     * Все ссылки рядом с заголовками {@code titleSelector} (ссылки - соседи заголовка, как "./../a") за один запрос.
+     */
+    @SuppressWarnings("unchecked")
+    public static List<Link> collect(WebDriver driver, String titleSelector) {
+        List<List<String>> rows = (List<List<String>>) ((JavascriptExecutor) driver).executeScript(COLLECT_SCRIPT, titleSelector);
+        return rows.stream().map(row -> new Link(row.get(0), row.get(1), row.get(2))).toList();
+    }
+
+    /**
+     * Ссылки глав на главной странице.
+     */
+    public static List<Link> collect(WebDriver driver) {
+        return collect(driver, "h5.card-title");
+    }
+
+    /**
+     * Проверяет ссылки сессией {@code driver} и свободными сессиями пула. Вкладка, на которой был driver, остаётся активной.
+     */
+    public Report verify(WebDriver driver, DriverPool pool, List<Link> links) {
+        long started = System.nanoTime();
+        Queue<Link> queue = new ConcurrentLinkedQueue<>(links);
+        Queue<Result> results = new ConcurrentLinkedQueue<>();
+        List<DriverLease> leases = new ArrayList<>();
+        ExecutorService executor = null;
+        try {
+            int wanted = Math.min(workers, (links.size() + tabs - 1) / tabs);
+            while (leases.size() < wanted - 1) {
+                DriverLease lease = pool.tryLease().orElse(null);
+                if (lease == null) {
+                    break;
+                }
+                leases.add(lease);
+            }
+            List<Future<?>> futures = new ArrayList<>();
+            if (!leases.isEmpty()) {
+                executor = Executors.newFixedThreadPool(leases.size());
+                for (DriverLease lease : leases) {
+                    futures.add(executor.submit(() -> drain(lease.driver(), queue, results)));
+                }
+            }
+            // Сессия теста работает в потоке теста: её команды попадают в метрики этого теста
+            drain(driver, queue, results);
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while verifying links", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Link verification worker failed", e.getCause());
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+            leases.forEach(DriverLease::close);
+        }
+        Map<Link, Result> byLink = new HashMap<>();
+        results.forEach(result -> byLink.put(result.link(), result));
+        List<Result> ordered = links.stream().map(byLink::get).toList();
+        return new Report(ordered, leases.size() + 1, Duration.ofNanos(System.nanoTime() - started));
+    }
+
+    private void drain(WebDriver driver, Queue<Link> queue, Queue<Result> results) {
+        String home = driver.getWindowHandle();
+        try {
+            List<Link> batch = new ArrayList<>(tabs);
+            for (Link link = queue.poll(); link != null; link = queue.poll()) {
+                batch.add(link);
+                if (batch.size() == tabs) {
+                    results.addAll(check(driver, home, batch));
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                results.addAll(check(driver, home, batch));
+            }
+        } finally {
+            driver.switchTo().window(home);
+        }
+    }
+
+    /**
+     * Открывает пачку ссылок во вкладках (загрузки идут одновременно) и собирает результаты по одной вкладке.
+     */
+    @SuppressWarnings("unchecked")
+    private List<Result> check(WebDriver driver, String home, List<Link> batch) {
+        List<Result> results = new ArrayList<>(batch.size());
+        List<String> handles = new ArrayList<>(batch.size());
+        Set<String> known = new HashSet<>(driver.getWindowHandles());
+        for (Link link : batch) {
+            ((JavascriptExecutor) driver).executeScript("window.open(arguments[0], '_blank');", link.url());
+            Set<String> current = driver.getWindowHandles();
+            current.removeAll(known);
+            String handle = current.isEmpty() ? null : current.iterator().next();
+            handles.add(handle);
+            if (handle != null) {
+                known.add(handle);
+            }
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            Link link = batch.get(i);
+            String handle = handles.get(i);
+            if (handle == null) {
+                results.add(Result.failed(link, "tab was not opened"));
+                continue;
+            }
+            try {
+                driver.switchTo().window(handle);
+                Map<String, Object> entry = (Map<String, Object>) Wait.until(driver, LOADED, loadTimeout);
+                results.add(new Result(link, ((Number) entry.get("status")).intValue(),
+                        ((Number) entry.get("loadMillis")).longValue(), (String) entry.get("title"), null));
+            } catch (WebDriverException e) {
+                results.add(Result.failed(link, e.getClass().getSimpleName() + ": " + e.getRawMessage()));
+            } finally {
+                try {
+                    driver.switchTo().window(handle).close();
+                } catch (WebDriverException e) {
+                    // Вкладка уже закрыта
+                }
+            }
+        }
+        driver.switchTo().window(home);
+        return results;
+    }
+
+    public record Link(String chapter, String text, String url) {
+    }
+
+    /**
+     * Результат проверки ссылки. status = 0, если браузер не сообщил код ответа (например, страница из кеша).
+     */
+    public record Result(Link link, int status, long loadMillis, String title, String error) {
+        static Result failed(Link link, String error) {
+            return new Result(link, -1, -1, null, error);
+        }
+
+        public boolean ok() {
+            return error == null && status < 400;
+        }
+    }
+
+    /**
+     * Итог проверки. {@link #export()} пишет его в crawl.output (по умолчанию build/reports/crawl.json).
+     */
+    public record Report(List<Result> results, int workers, Duration elapsed) {
+        public List<Result> failures() {
+            return results.stream().filter(result -> !result.ok()).toList();
+        }
+
+        public void export() {
+            Path output = Path.of(System.getProperty("crawl.output", "build/reports/crawl.json"));
+            List<Map<String, Object>> links = new ArrayList<>();
+            for (Result result : results) {
+                // error и title бывают null, поэтому не Map.of
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("chapter", result.link().chapter());
+                row.put("text", result.link().text());
+                row.put("url", result.link().url());
+                row.put("status", result.status());
+                row.put("loadMs", result.loadMillis());
+                row.put("title", result.title());
+                row.put("error", result.error());
+                links.add(row);
+            }
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("links", results.size());
+            report.put("workers", workers);
+            report.put("elapsedMs", elapsed.toMillis());
+            report.put("results", links);
+            try {
+                if (output.getParent() != null) {
+                    Files.createDirectories(output.getParent());
+                }
+                Files.writeString(output, new Json().toJson(report), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to export crawl report to " + output, e);
+            }
+        }
+    }
+}
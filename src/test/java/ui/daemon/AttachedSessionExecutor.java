@@ -0,0 +1,65 @@
+package ui.daemon;
+
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.Response;
+import org.openqa.selenium.remote.SessionId;
+import org.openqa.selenium.remote.codec.w3c.W3CHttpCommandCodec;
+import org.openqa.selenium.remote.codec.w3c.W3CHttpResponseCodec;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.HttpClient;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * Исполнитель команд для уже созданной сессии chromedriver: RemoteWebDriver подключается к ней, а не создаёт новую.
+ * <p>
+ * newSession не отправляется - ответом служат id и capabilities выданной сессии. Остальные команды кодируются
+ * по W3C и уходят напрямую в chromedriver. quit не закрывает браузер, а возвращает сессию демону:
+ * он закроет её вместе с профилем.
+ */
+final class AttachedSessionExecutor implements CommandExecutor {
+    private final W3CHttpCommandCodec commandCodec = new W3CHttpCommandCodec();
+    private final W3CHttpResponseCodec responseCodec = new W3CHttpResponseCodec();
+    private final HttpClient client;
+    private final SessionId sessionId;
+    private final Map<String, Object> capabilities;
+    private final Runnable release;
+
+    AttachedSessionExecutor(URI chromedriver, SessionId sessionId, Map<String, Object> capabilities, Runnable release) {
+        this.client = HttpClient.Factory.createDefault().createClient(ClientConfig.defaultConfig().baseUri(chromedriver));
+        this.sessionId = sessionId;
+        this.capabilities = capabilities;
+        this.release = release;
+    }
+
+    @Override
+    public Response execute(Command command) throws IOException {
+        if (DriverCommand.NEW_SESSION.equals(command.getName())) {
+            return success(capabilities);
+        }
+        if (DriverCommand.QUIT.equals(command.getName())) {
+            try {
+                release.run();
+            } finally {
+                client.close();
+            }
+            return success(null);
+        }
+        Response response = responseCodec.decode(client.execute(commandCodec.encode(command)));
+        if (response.getSessionId() == null) {
+            response.setSessionId(sessionId.toString());
+        }
+        return response;
+    }
+
+    private Response success(Object value) {
+        Response response = new Response(sessionId);
+        response.setState("success");
+        response.setValue(value);
+        return response;
+    }
+}
@@ -0,0 +1,235 @@
+package ui.daemon;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import ui.driver.DriverFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Долгоживущий процесс с "тёплыми" браузерами для быстрых повторных запусков тестов при разработке.
+ * <p>
+ * Держит daemon.sessions (по умолчанию 2) готовых сессий chromedriver и выдаёт их тестовым JVM по HTTP
+ * на localhost:daemon.port ({@link DaemonClient}). Каждая сессия выдаётся один раз: после возврата браузер
+ * закрывается вместе со своим временным профилем, а на смену заранее запускается новый. Поэтому тесты разных
+ * запусков не видят cookies, кеш и localStorage друг друга, а запуск Chrome не попадает во время теста.
+ * <p>
+ * Если JVM, взявшая сессию, завершилась и не вернула её, сессия закрывается.
+ * Без выданных сессий и обращений в течение daemon.idleMinutes (по умолчанию 30) процесс завершается сам.
+ * <p>
+ * Запускается клиентом при первом обращении; остановить вручную: {@code ./gradlew stopBrowserDaemon}.
+ */
+public final class BrowserDaemon implements AutoCloseable {
+    static final int DEFAULT_PORT = 4455;
+    static final String STOP = "--stop";
+    private static final Json JSON = new Json();
+    private static final Duration LEASE_TIMEOUT = Duration.ofMinutes(2);
+
+    private final ChromeDriverService service;
+    private final ChromeOptions options;
+    private final String fingerprint;
+    private final Duration idleTimeout;
+    private final BlockingQueue<RemoteWebDriver> ready = new LinkedBlockingQueue<>();
+    private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+    private final ExecutorService browsers;
+    private final ScheduledExecutorService housekeeping = Executors.newSingleThreadScheduledExecutor(daemonThreads("daemon-housekeeping"));
+    private final HttpServer server;
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    private volatile long lastActivity = System.nanoTime();
+    private volatile boolean closed;
+
+    private record Lease(RemoteWebDriver driver, long ownerPid) {
+    }
+
+    private BrowserDaemon(int port, int sessions, Duration idleTimeout) throws IOException {
+        this.options = DriverFactory.options();
+        this.fingerprint = fingerprint(options);
+        this.idleTimeout = idleTimeout;
+        this.service = new ChromeDriverService.Builder().usingAnyFreePort().build();
+        service.start();
+        this.browsers = Executors.newFixedThreadPool(sessions, daemonThreads("daemon-browser"));
+        for (int i = 0; i < sessions; i++) {
+            browsers.execute(this::warmUp);
+        }
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.setExecutor(Executors.newCachedThreadPool(daemonThreads("daemon-http")));
+        server.createContext("/", this::handle);
+        server.start();
+        housekeeping.scheduleWithFixedDelay(this::housekeeping, 5, 5, TimeUnit.SECONDS);
+        System.out.printf("[daemon] Listening on %d, chromedriver %s, %d warm session(s)%n", port, service.getUrl(), sessions);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = Integer.getInteger("daemon.port", DEFAULT_PORT);
+        if (args.length == 1 && STOP.equals(args[0])) {
+            System.out.println(DaemonClient.stop(port) ? "[daemon] Stopped" : "[daemon] Not running");
+            return;
+        }
+        try (BrowserDaemon daemon = new BrowserDaemon(port, Integer.getInteger("daemon.sessions", 2),
+                Duration.ofMinutes(Integer.getInteger("daemon.idleMinutes", 30)))) {
+            daemon.stopped.await();
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Отпечаток настроек браузера: клиент с другими настройками (например, без headless) не должен получить эти сессии.
+     */
+    static String fingerprint(ChromeOptions options) {
+        return JSON.toJson(options.asMap());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        lastActivity = System.nanoTime();
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            switch (path) {
+                case "/status" -> respond(exchange, 200, Map.of("ready", ready.size(), "leased", leases.size()));
+                case "/lease" -> lease(exchange);
+                case "/release" -> {
+                    release(JSON.toType(body(exchange), String.class));
+                    respond(exchange, 200, Map.of());
+                }
+                case "/shutdown" -> {
+                    respond(exchange, 200, Map.of());
+                    // Ответ должен уйти до остановки сервера
+                    housekeeping.execute(this::close);
+                }
+                default -> respond(exchange, 404, Map.of("error", "Unknown path " + path));
+            }
+        } catch (RuntimeException e) {
+            respond(exchange, 500, Map.of("error", String.valueOf(e)));
+        }
+    }
+
+    private void lease(HttpExchange exchange) throws IOException {
+        Map<String, Object> request = JSON.toType(body(exchange), Json.MAP_TYPE);
+        if (!fingerprint.equals(request.get("options"))) {
+            respond(exchange, 409, Map.of("error", "Browser options differ from the daemon's"));
+            return;
+        }
+        RemoteWebDriver driver;
+        try {
+            driver = ready.poll(LEASE_TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            driver = null;
+        }
+        if (driver == null) {
+            respond(exchange, 503, Map.of("error", "No browser started in " + LEASE_TIMEOUT));
+            return;
+        }
+        browsers.execute(this::warmUp);
+        String sessionId = driver.getSessionId().toString();
+        leases.put(sessionId, new Lease(driver, ((Number) request.get("pid")).longValue()));
+        respond(exchange, 200, Map.of(
+                "url", service.getUrl().toString(),
+                "sessionId", sessionId,
+                "capabilities", driver.getCapabilities().asMap()));
+    }
+
+    private void release(String sessionId) {
+        Lease lease = leases.remove(sessionId);
+        if (lease != null) {
+            browsers.execute(() -> quit(lease.driver()));
+        }
+    }
+
+    private void warmUp() {
+        if (closed) {
+            return;
+        }
+        try {
+            RemoteWebDriver driver = new RemoteWebDriver(service.getUrl(), options);
+            ready.add(driver);
+            if (closed && ready.remove(driver)) {
+                quit(driver);
+            }
+        } catch (WebDriverException e) {
+            System.out.println("[daemon] Failed to start browser: " + e.getMessage());
+        }
+    }
+
+    private void housekeeping() {
+        leases.forEach((sessionId, lease) -> {
+            if (ProcessHandle.of(lease.ownerPid()).map(ProcessHandle::isAlive).orElse(false)) {
+                return;
+            }
+            System.out.printf("[daemon] Process %d exited without releasing %s%n", lease.ownerPid(), sessionId);
+            release(sessionId);
+        });
+        if (leases.isEmpty() && System.nanoTime() - lastActivity > idleTimeout.toNanos()) {
+            System.out.println("[daemon] Idle for " + idleTimeout + ", shutting down");
+            close();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        server.stop(0);
+        housekeeping.shutdown();
+        browsers.shutdown();
+        try {
+            browsers.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        ready.forEach(BrowserDaemon::quit);
+        leases.values().forEach(lease -> quit(lease.driver()));
+        service.stop();
+        stopped.countDown();
+    }
+
+    private static void quit(RemoteWebDriver driver) {
+        try {
+            driver.quit();
+        } catch (WebDriverException e) {
+            // Браузер уже закрыт
+        }
+    }
+
+    private static String body(HttpExchange exchange) throws IOException {
+        return new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    private static void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = JSON.toJson(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,162 @@
+package ui.daemon;
+
+import org.openqa.selenium.ImmutableCapabilities;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.SessionId;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Клиент {@link BrowserDaemon} в тестовой JVM: берёт у него готовую сессию и подключается к ней
+ * через {@link AttachedSessionExecutor}. Если демон не запущен, запускает его отдельным процессом
+ * (вывод - в build/browser-daemon.log); если запущен с другими настройками браузера - перезапускает.
+ */
+public final class DaemonClient {
+    private static final Json JSON = new Json();
+    private static final Duration START_TIMEOUT = Duration.ofSeconds(30);
+    // Настройки, с которыми запускается демон: от них зависят его браузеры
+    private static final List<String> FORWARDED = List.of("headless", "pageLoadStrategy", "local", "webdriver.chrome.driver",
+            "daemon.sessions", "daemon.idleMinutes");
+    private static final HttpClient HTTP = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+
+    private DaemonClient() {
+        throw new AssertionError("Cannot instantiate DaemonClient class");
+    }
+
+    public static WebDriver lease(ChromeOptions options) {
+        int port = Integer.getInteger("daemon.port", BrowserDaemon.DEFAULT_PORT);
+        Map<String, Object> request = Map.of("pid", ProcessHandle.current().pid(), "options", BrowserDaemon.fingerprint(options));
+        ensureRunning(port);
+        HttpResponse<String> response = send(port, "/lease", request);
+        if (response.statusCode() == 409) {
+            // Демон остался от запуска с другими настройками
+            stop(port);
+            ensureRunning(port);
+            response = send(port, "/lease", request);
+        }
+        if (response.statusCode() != 200) {
+            throw new SessionNotCreatedException("Browser daemon: " + response.body());
+        }
+        Map<String, Object> lease = JSON.toType(response.body(), Json.MAP_TYPE);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> capabilities = (Map<String, Object>) lease.get("capabilities");
+        SessionId sessionId = new SessionId((String) lease.get("sessionId"));
+        AttachedSessionExecutor executor = new AttachedSessionExecutor(URI.create((String) lease.get("url")), sessionId, capabilities,
+                () -> send(port, "/release", sessionId.toString()));
+        return new RemoteWebDriver(executor, new ImmutableCapabilities(capabilities));
+    }
+
+    /**
+     * Останавливает демон. Возвращает false, если он не был запущен.
+     */
+    static boolean stop(int port) {
+        try {
+            send(port, "/shutdown", Map.of());
+        } catch (UncheckedIOException e) {
+            if (e.getCause() instanceof ConnectException) {
+                return false;
+            }
+            throw e;
+        }
+        // Порт освобождается, когда демон закрыл браузеры
+        long deadline = System.nanoTime() + START_TIMEOUT.toNanos();
+        while (isRunning(port) && System.nanoTime() < deadline) {
+            sleep();
+        }
+        return true;
+    }
+
+    private static synchronized void ensureRunning(int port) {
+        if (isRunning(port)) {
+            return;
+        }
+        start(port);
+        long deadline = System.nanoTime() + START_TIMEOUT.toNanos();
+        while (!isRunning(port)) {
+            if (System.nanoTime() > deadline) {
+                throw new SessionNotCreatedException("Browser daemon did not start in " + START_TIMEOUT + ", see build/browser-daemon.log");
+            }
+            sleep();
+        }
+    }
+
+    private static void start(int port) {
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"),
+                "-Ddaemon.port=" + port));
+        FORWARDED.stream()
+                .filter(name -> System.getProperty(name) != null)
+                .forEach(name -> command.add("-D" + name + "=" + System.getProperty(name)));
+        command.add(BrowserDaemon.class.getName());
+        try {
+            Path log = Path.of("build", "browser-daemon.log");
+            Files.createDirectories(log.getParent());
+            // Демон переживает тестовую JVM, поэтому не должен держать её потоки ввода-вывода: Gradle ждал бы их закрытия
+            new ProcessBuilder(command)
+                    .redirectInput(ProcessBuilder.Redirect.from(new File(System.getProperty("os.name").startsWith("Windows") ? "NUL" : "/dev/null")))
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.appendTo(log.toFile()))
+                    .start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start browser daemon", e);
+        }
+    }
+
+    private static boolean isRunning(int port) {
+        try {
+            return HTTP.send(HttpRequest.newBuilder(uri(port, "/status")).GET().build(), HttpResponse.BodyHandlers.discarding())
+                    .statusCode() == 200;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static HttpResponse<String> send(int port, String path, Object body) {
+        try {
+            return HTTP.send(HttpRequest.newBuilder(uri(port, path))
+                            .POST(HttpRequest.BodyPublishers.ofString(JSON.toJson(body)))
+                            .header("Content-Type", "application/json; charset=utf-8")
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Browser daemon request " + path + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted", e);
+        }
+    }
+
+    private static URI uri(int port, String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(200);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted", e);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package ui.driver;
+
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.logging.LoggingPreferences;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import ui.daemon.DaemonClient;
+import ui.metrics.CommandMetrics;
+import ui.metrics.CommandTimingListener;
+
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.util.logging.Level;
+
+/**
+ * Создание новых сессий браузера. Раньше этот код повторялся в setUpAll() каждого тестового класса,
+ * теперь сессии создаются только пулом {@link DriverPool}.
+ * <p>
+ * Драйвер оборачивается в EventFiringDecorator с {@link CommandTimingListener}: длительность каждой команды
+ * и запуска браузера попадает в {@link CommandMetrics}.
+ * <p>
+ * -Dheadless=true запускает Chrome без окна (нужно для бенчмарков и CI).
+ * <p>
+ * Стратегия загрузки сессии - стандартная normal (или -DpageLoadStrategy): driver.get(), переходы по ссылкам и отправка
+ * форм ждут загрузки. Только {@link ui.site.Page#open} ждёт меньше - по правилам конкретной страницы.
+ * <p>
+ * -Dremote.url=http://host:port создаёт сессии RemoteWebDriver на этом узле (chromedriver или Selenium Grid)
+ * вместо локального ChromeDriver. Так работает {@link ui.shard.ShardRunner}. У удалённых сессий нет DevTools,
+ * поэтому блокировка запросов ({@link ui.network.RequestBlocker}) для них не включается.
+ * <p>
+ * -Ddaemon=true берёт уже запущенные браузеры у {@link ui.daemon.BrowserDaemon}, который живёт между запусками Gradle.
+ * <p>
+ * Сообщения консоли браузера сохраняются в сессии: их забирает {@link ui.artifacts.FailureArtifactsExtension}, если тест упал.
+ */
+public final class DriverFactory {
+    private DriverFactory() {
+        throw new AssertionError("Cannot instantiate DriverFactory class");
+    }
+
+    public static WebDriver create() {
+        long started = System.nanoTime();
+        ChromeOptions options = options();
+        String remoteUrl = System.getProperty("remote.url");
+        WebDriver driver;
+        if (remoteUrl != null) {
+            driver = new RemoteWebDriver(url(remoteUrl), options);
+        } else if (Boolean.getBoolean("daemon")) {
+            driver = DaemonClient.lease(options);
+        } else {
+            driver = new ChromeDriver(options);
+        }
+        CommandMetrics.record("Session.start", System.nanoTime() - started);
+
+        WebDriver decorated = new EventFiringDecorator<>(new CommandTimingListener()).decorate(driver);
+        decorated.manage().window().maximize();
+        return decorated;
+    }
+
+    /**
+     * Настройки браузера из системных свойств. Ими же пользуется {@link ui.daemon.BrowserDaemon}.
+     */
+    public static ChromeOptions options() {
+        if ("true".equals(System.getProperty("local"))) {
+            System.setProperty("webdriver.chrome.driver", "src\\test\\resources\\chromedriver.exe");
+        }
+        ChromeOptions options = new ChromeOptions();
+        options.setPageLoadStrategy(PageLoadStrategy.fromString(System.getProperty("pageLoadStrategy", "normal")));
+        LoggingPreferences logging = new LoggingPreferences();
+        logging.enable(LogType.BROWSER, Level.ALL);
+        options.setCapability(ChromeOptions.LOGGING_PREFS, logging);
+        if (Boolean.getBoolean("headless")) {
+            options.addArguments("--headless=new", "--window-size=1920,1080");
+        }
+        return options;
+    }
+
+    private static URL url(String url) {
+        try {
+            return URI.create(url).toURL();
+        } catch (MalformedURLException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid remote.url: " + url, e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package ui.driver;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Сессия, выданная из пула {@link DriverPool}. После использования её нужно вернуть через {@link #close()}.
+ * Реализует CloseableResource, чтобы JUnit сам возвращал сессию при закрытии контекста, в котором она взята.
+ */
+public final class DriverLease implements AutoCloseable, ExtensionContext.Store.CloseableResource {
+    private final DriverPool pool;
+    private final DriverPool.PooledSession session;
+    private volatile boolean invalid;
+    private volatile boolean closed;
+
+    DriverLease(DriverPool pool, DriverPool.PooledSession session) {
+        this.pool = pool;
+        this.session = session;
+    }
+
+    public WebDriver driver() {
+        return session.driver();
+    }
+
+    /**
+     * Помечает сессию как непригодную: при возврате в пул она будет закрыта и заменена новой.
+     */
+    public void invalidate() {
+        invalid = true;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        pool.release(session, invalid);
+    }
+}
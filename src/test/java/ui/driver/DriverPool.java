@@ -0,0 +1,211 @@
+package ui.driver;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import ui.parallel.ResourceAwareParallelStrategy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Ограниченный пул "тёплых" сессий браузера, общий для всех тестовых классов.
+ * <p>
+ * Одновременно живёт не больше {@code maxSize} сессий. Перед выдачей сессия проверяется (health check),
+ * после возврата - сбрасывается. Сессия закрывается и заменяется новой, если браузер упал,
+ * сброс не удался или сессия была использована {@code maxUses} раз.
+ * <p>
+ * Поток по возможности получает ту же сессию, которую вернул последней, - при параллельном запуске
+ * у каждого рабочего потока остаётся "своя" сессия.
+ */
+public final class DriverPool implements AutoCloseable {
+    private final Supplier<WebDriver> factory;
+    private final int maxSize;
+    private final int maxUses;
+    private final Duration leaseTimeout;
+    private final Semaphore permits;
+    private final BlockingDeque<PooledSession> idle = new LinkedBlockingDeque<>();
+    private final Set<PooledSession> sessions = ConcurrentHashMap.newKeySet();
+    private final ThreadLocal<PooledSession> lastReleased = new ThreadLocal<>();
+    private final List<Consumer<WebDriver>> discardListeners = new CopyOnWriteArrayList<>();
+    private volatile boolean closed;
+
+    public DriverPool(Supplier<WebDriver> factory, int maxSize, int maxUses, Duration leaseTimeout) {
+        if (maxSize < 1 || maxUses < 1) {
+            throw new IllegalArgumentException("Pool size and max uses must be positive");
+        }
+        this.factory = factory;
+        this.maxSize = maxSize;
+        this.maxUses = maxUses;
+        this.leaseTimeout = leaseTimeout;
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    /**
+     * Пул с настройками из системных свойств: pool.size, pool.maxUses, pool.leaseTimeoutSeconds.
+     * Если pool.size не задан, размер пула равен числу параллельных потоков JUnit (1 при последовательном запуске).
+     */
+    public static DriverPool fromSystemProperties() {
+        return new DriverPool(DriverFactory::create,
+                Integer.getInteger("pool.size", ResourceAwareParallelStrategy.isParallelEnabled() ? ResourceAwareParallelStrategy.workers() : 1),
+                Integer.getInteger("pool.maxUses", 50),
+                Duration.ofSeconds(Integer.getInteger("pool.leaseTimeoutSeconds", 120)));
+    }
+
+    public int maxSize() {
+        return maxSize;
+    }
+
+    /**
+     * {@code listener} вызывается перед закрытием каждой сессии, которую пул больше не выдаст
+     * (maxUses, сбой, {@link DriverLease#invalidate()}, закрытие пула): так расширения освобождают то, что держат по сессии.
+     */
+    public void onDiscard(Consumer<WebDriver> listener) {
+        discardListeners.add(listener);
+    }
+
+    /**
+     * Выдаёт сессию, ожидая освобождения места в пуле не дольше leaseTimeout.
+     */
+    public DriverLease lease() {
+        try {
+            if (!permits.tryAcquire(leaseTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("No browser session became available within " + leaseTimeout);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a browser session", e);
+        }
+        return acquire();
+    }
+
+    /**
+     * Выдаёт сессию, только если в пуле есть свободное место прямо сейчас.
+     */
+    public Optional<DriverLease> tryLease() {
+        return permits.tryAcquire() ? Optional.of(acquire()) : Optional.empty();
+    }
+
+    private DriverLease acquire() {
+        try {
+            checkOpen();
+            PooledSession session = lastReleased.get();
+            if (session == null || !idle.remove(session)) {
+                session = idle.pollFirst();
+            }
+            for (; session != null; session = idle.pollFirst()) {
+                if (session.uses < maxUses && isHealthy(session)) {
+                    break;
+                }
+                discard(session);
+            }
+            if (session == null) {
+                session = new PooledSession(factory.get());
+                sessions.add(session);
+            }
+            session.uses++;
+            return new DriverLease(this, session);
+        } catch (RuntimeException | Error e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    void release(PooledSession session, boolean invalid) {
+        try {
+            if (closed || invalid || session.uses >= maxUses || !reset(session)) {
+                discard(session);
+            } else {
+                // В начало очереди: следующей выдаётся самая "тёплая" сессия
+                idle.offerFirst(session);
+                lastReleased.set(session);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private boolean isHealthy(PooledSession session) {
+        try {
+            session.driver.getWindowHandle();
+            return true;
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Возвращает сессию в исходное состояние: только исходная вкладка сессии, без cookies.
+     * Если тест закрыл исходную вкладку, сессия заменяется новой.
+     * Открытая страница остаётся: если следующий тест работает с ней же, {@link ui.reset.PageReset} сбросит её без загрузки.
+     */
+    private boolean reset(PooledSession session) {
+        WebDriver driver = session.driver;
+        try {
+            // Порядок getWindowHandles() не определён, поэтому исходная вкладка запоминается при создании сессии
+            Set<String> handles = driver.getWindowHandles();
+            if (!handles.contains(session.originalHandle)) {
+                return false;
+            }
+            for (String handle : handles) {
+                if (!handle.equals(session.originalHandle)) {
+                    driver.switchTo().window(handle).close();
+                }
+            }
+            driver.switchTo().window(session.originalHandle);
+            driver.manage().deleteAllCookies();
+            return true;
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    private void discard(PooledSession session) {
+        sessions.remove(session);
+        discardListeners.forEach(listener -> listener.accept(session.driver));
+        try {
+            session.driver.quit();
+        } catch (WebDriverException e) {
+            // Браузер уже упал - закрывать нечего
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Driver pool is closed");
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        idle.clear();
+        for (PooledSession session : List.copyOf(sessions)) {
+            discard(session);
+        }
+    }
+
+    static final class PooledSession {
+        private final WebDriver driver;
+        private final String originalHandle;
+        private int uses;
+
+        private PooledSession(WebDriver driver) {
+            this.driver = driver;
+            this.originalHandle = driver.getWindowHandle();
+        }
+
+        WebDriver driver() {
+            return driver;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package ui.driver;
+
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * JUnit 5 расширение, которое выдаёт каждому тесту сессию из общего пула {@link DriverPool}.
+ * <p>
+ * Сессия берётся перед @BeforeEach и передаётся параметром {@code WebDriver} в методы теста.
+ * Параметр {@code DriverPool} - сам пул, например чтобы взять дополнительные сессии через {@link DriverPool#tryLease()}.
+ * После завершения теста JUnit закрывает его контекст, и сессия возвращается в пул.
+ * Так у каждого потока, выполняющего тест, своя сессия, и тесты можно запускать параллельно.
+ * Состояние страницы между тестами одной сессии готовит {@link ui.reset.PageReset}.
+ * Сам пул живёт в корневом контексте и закрывается в конце прогона.
+ */
+public class DriverPoolExtension implements BeforeEachCallback, ParameterResolver {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(DriverPoolExtension.class);
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(DriverLease.class, pool(context).lease());
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        Class<?> type = parameterContext.getParameter().getType();
+        return type == WebDriver.class || type == DriverPool.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        if (parameterContext.getParameter().getType() == DriverPool.class) {
+            return pool(extensionContext);
+        }
+        return lease(extensionContext).driver();
+    }
+
+    /**
+     * Сессия, выданная текущему тесту.
+     */
+    public static DriverLease lease(ExtensionContext context) {
+        return context.getStore(NAMESPACE).get(DriverLease.class, DriverLease.class);
+    }
+
+    public static DriverPool pool(ExtensionContext context) {
+        return context.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(PoolResource.class, key -> new PoolResource(DriverPool.fromSystemProperties()), PoolResource.class)
+                .pool;
+    }
+
+    private record PoolResource(DriverPool pool) implements ExtensionContext.Store.CloseableResource {
+        @Override
+        public void close() {
+            pool.close();
+        }
+    }
+}
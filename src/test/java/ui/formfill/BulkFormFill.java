@@ -0,0 +1,236 @@
+package ui.formfill;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import ui.driver.DriverLease;
+import ui.driver.DriverPool;
+import ui.site.Page;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Массовое заполнение web-form.html строками данных.
+ * <p>
+ * Строки читаются из {@link RowSource} пачками по {@code batchSize}. Пачка уходит в браузер одним executeScript:
+ * для каждой строки скрипт сбрасывает форму, заполняет все поля строки (с событиями input и change, как при вводе),
+ * снимает состояние всех полей и переходит к следующей строке. Снятое состояние сравнивается с {@link FormModel}.
+ * <p>
+ * Работа делится между сессией теста и свободными сессиями пула (как в ui.crawl.LinkCrawler):
+ * каждая сессия забирает следующую пачку, пока строки не кончатся.
+ */
+public final class BulkFormFill {
+    private static final int MISMATCH_SAMPLE = 50;
+    private static final String FILL_SCRIPT = """
+            var form = document.querySelector('form');
+            function fire(el) {
+                el.dispatchEvent(new Event('input', {bubbles: true}));
+                el.dispatchEvent(new Event('change', {bubbles: true}));
+            }
+            function fill(key, value) {
+                var el = document.getElementById(key) || form.elements[key];
+                if (!el) {
+                    throw new Error('No form field ' + key);
+                }
+                if (el instanceof RadioNodeList) {
+                    el = document.getElementById(value);
+                    el.checked = true;
+                } else if (el.type === 'checkbox' || el.type === 'radio') {
+                    el.checked = value === 'true';
+                } else {
+                    el.value = value;
+                }
+                fire(el);
+            }
+            function capture() {
+                var state = {};
+                Array.from(form.elements).forEach(function (el) {
+                    if (!el.name || el.type === 'file' || el.type === 'submit') {
+                        return;
+                    }
+                    if (el.type === 'checkbox' || el.type === 'radio') {
+                        state[el.id] = String(el.checked);
+                    } else {
+                        state[el.name] = el.value;
+                    }
+                });
+                return state;
+            }
+            return arguments[0].map(function (row) {
+                form.reset();
+                Object.keys(row).forEach(function (key) {
+                    fill(key, row[key]);
+                });
+                var state = capture();
+                form.reset();
+                return state;
+            });
+            """;
+
+    private final int workers;
+    private final int batchSize;
+
+    public BulkFormFill(int workers, int batchSize) {
+        if (workers < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Workers and batch size must be positive");
+        }
+        this.workers = workers;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Настройки из системных свойств: formfill.workers (по умолчанию - размер пула), formfill.batchSize (50).
+     */
+    public static BulkFormFill fromSystemProperties(DriverPool pool) {
+        return new BulkFormFill(Integer.getInteger("formfill.workers", pool.maxSize()), Integer.getInteger("formfill.batchSize", 50));
+    }
+
+    /**
+     * Заполняет форму всеми строками {@code rows}. {@code driver} должен быть на web-form.html,
+     * дополнительные сессии пула открывают её сами. Источник строк закрывается.
+     */
+    public Report run(WebDriver driver, DriverPool pool, RowSource rows) {
+        long started = System.nanoTime();
+        Tally tally = new Tally();
+        List<DriverLease> leases = new ArrayList<>();
+        ExecutorService executor = null;
+        try (rows) {
+            while (leases.size() < workers - 1) {
+                DriverLease lease = pool.tryLease().orElse(null);
+                if (lease == null) {
+                    break;
+                }
+                leases.add(lease);
+            }
+            List<Future<?>> futures = new ArrayList<>();
+            if (!leases.isEmpty()) {
+                executor = Executors.newFixedThreadPool(leases.size());
+                for (DriverLease lease : leases) {
+                    futures.add(executor.submit(() -> {
+                        Page.WEB_FORM.open(lease.driver());
+                        work(lease.driver(), rows, tally);
+                    }));
+                }
+            }
+            work(driver, rows, tally);
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while filling the form", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Form fill worker failed", e.getCause());
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+            leases.forEach(DriverLease::close);
+        }
+        return new Report(tally.rows.get(), leases.size() + 1, Duration.ofNanos(System.nanoTime() - started),
+                tally.mismatches.get(), tally.sample());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void work(WebDriver driver, RowSource rows, Tally tally) {
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        for (List<FormRow> batch = nextBatch(rows); !batch.isEmpty(); batch = nextBatch(rows)) {
+            List<Map<String, Object>> states = (List<Map<String, Object>>) js.executeScript(FILL_SCRIPT,
+                    batch.stream().map(FormRow::fields).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                tally.check(batch.get(i), states.get(i));
+            }
+        }
+    }
+
+    private List<FormRow> nextBatch(RowSource rows) {
+        synchronized (rows) {
+            List<FormRow> batch = new ArrayList<>(batchSize);
+            while (batch.size() < batchSize && rows.hasNext()) {
+                batch.add(rows.next());
+            }
+            return batch;
+        }
+    }
+
+    private static final class Tally {
+        private final AtomicLong rows = new AtomicLong();
+        private final AtomicLong mismatches = new AtomicLong();
+        private final List<Mismatch> sample = new ArrayList<>();
+
+        void check(FormRow row, Map<String, Object> state) {
+            rows.incrementAndGet();
+            FormModel.expected(row).forEach((field, expected) -> {
+                String actual = Objects.toString(state.get(field), null);
+                if (!expected.equals(actual)) {
+                    mismatches.incrementAndGet();
+                    synchronized (sample) {
+                        if (sample.size() < MISMATCH_SAMPLE) {
+                            sample.add(new Mismatch(row.id(), field, expected, actual));
+                        }
+                    }
+                }
+            });
+        }
+
+        List<Mismatch> sample() {
+            synchronized (sample) {
+                return List.copyOf(sample);
+            }
+        }
+    }
+
+    public record Mismatch(String rowId, String field, String expected, String actual) {
+        Map<String, Object> toMap() {
+            // actual бывает null (поля нет в снятом состоянии), поэтому не Map.of
+            Map<String, Object> mismatch = new LinkedHashMap<>();
+            mismatch.put("row", rowId);
+            mismatch.put("field", field);
+            mismatch.put("expected", expected);
+            mismatch.put("actual", actual);
+            return mismatch;
+        }
+    }
+
+    /**
+     * Итог прогона. {@code mismatchSample} - первые несколько расхождений, {@code mismatches} - общее число.
+     * {@link #export(String)} пишет его в formfill.output/&lt;name&gt;.json (по умолчанию build/reports/formfill).
+     */
+    public record Report(long rows, int workers, Duration elapsed, long mismatches, List<Mismatch> mismatchSample) {
+        public double rowsPerSecond() {
+            return elapsed.isZero() ? rows : rows * 1_000_000_000.0 / elapsed.toNanos();
+        }
+
+        public void export(String name) {
+            Path output = Path.of(System.getProperty("formfill.output", "build/reports/formfill")).resolve(name + ".json");
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("rows", rows);
+            report.put("workers", workers);
+            report.put("elapsedMs", elapsed.toMillis());
+            report.put("rowsPerSecond", Math.round(rowsPerSecond() * 10) / 10.0);
+            report.put("mismatches", mismatches);
+            report.put("mismatchSample", mismatchSample.stream().map(Mismatch::toMap).toList());
+            try {
+                Files.createDirectories(output.getParent());
+                Files.writeString(output, new Json().toJson(report), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to export form fill report to " + output, e);
+            }
+        }
+    }
+}
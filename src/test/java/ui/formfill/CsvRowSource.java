@@ -0,0 +1,120 @@
+package ui.formfill;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Потоковое чтение CSV (RFC 4180): одна запись за раз, кавычки, запятые и переводы строк внутри значений.
+ */
+final class CsvRowSource extends RowSource {
+    private final BufferedReader reader;
+    private List<String> header;
+    private long number;
+
+    CsvRowSource(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+    }
+
+    @Override
+    protected FormRow read() {
+        if (header == null) {
+            header = record();
+            if (header == null) {
+                return null;
+            }
+        }
+        List<String> values = record();
+        if (values == null) {
+            return null;
+        }
+        number++;
+        if (values.size() != header.size()) {
+            throw new IllegalArgumentException("CSV record " + number + " has " + values.size() + " values, header has " + header.size());
+        }
+        Map<String, String> fields = new LinkedHashMap<>();
+        String id = String.valueOf(number);
+        for (int i = 0; i < header.size(); i++) {
+            if ("id".equals(header.get(i))) {
+                id = values.get(i);
+            } else {
+                fields.put(header.get(i), values.get(i));
+            }
+        }
+        return new FormRow(id, fields);
+    }
+
+    /**
+     * Одна запись или null в конце файла. Пустые строки между записями пропускаются.
+     */
+    private List<String> record() {
+        try {
+            List<String> values = new ArrayList<>();
+            StringBuilder value = new StringBuilder();
+            boolean quoted = false;
+            boolean empty = true;
+            int c;
+            while ((c = reader.read()) != -1) {
+                char ch = (char) c;
+                if (quoted) {
+                    if (ch != '"') {
+                        value.append(ch);
+                    } else {
+                        reader.mark(1);
+                        if (reader.read() == '"') {
+                            value.append('"');
+                        } else {
+                            reader.reset();
+                            quoted = false;
+                        }
+                    }
+                } else if (ch == '"') {
+                    quoted = true;
+                    empty = false;
+                } else if (ch == ',') {
+                    values.add(value.toString());
+                    value.setLength(0);
+                    empty = false;
+                } else if (ch == '\n' || ch == '\r') {
+                    if (ch == '\r') {
+                        reader.mark(1);
+                        if (reader.read() != '\n') {
+                            reader.reset();
+                        }
+                    }
+                    if (!empty) {
+                        values.add(value.toString());
+                        return values;
+                    }
+                } else {
+                    value.append(ch);
+                    empty = false;
+                }
+            }
+            if (quoted) {
+                throw new IllegalArgumentException("Unterminated quoted value in CSV");
+            }
+            if (empty) {
+                return null;
+            }
+            values.add(value.toString());
+            return values;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
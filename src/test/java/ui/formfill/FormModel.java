@@ -0,0 +1,58 @@
+package ui.formfill;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Какие значения должны оказаться в полях web-form.html после заполнения строкой данных.
+ * Повторяет правила очистки значений из спецификации HTML для типов полей этой формы:
+ * text и password теряют переводы строк, textarea приводит их к \n, color принимает только #rrggbb,
+ * range округляется к шагу и ограничивается min/max, select без подходящего варианта остаётся пустым.
+ */
+final class FormModel {
+    private static final Set<String> SELECT_VALUES = Set.of("Open this select menu", "1", "2", "3");
+    private static final Pattern COLOR = Pattern.compile("#[0-9a-fA-F]{6}");
+    // "Valid floating-point number" из спецификации HTML
+    private static final Pattern FLOAT = Pattern.compile("-?(\\d+(\\.\\d+)?|\\.\\d+)([eE][-+]?\\d+)?");
+    private static final int RANGE_MIN = 0;
+    private static final int RANGE_MAX = 10;
+
+    private FormModel() {
+        throw new AssertionError("Cannot instantiate FormModel class");
+    }
+
+    static Map<String, String> expected(FormRow row) {
+        Map<String, String> expected = new LinkedHashMap<>();
+        row.fields().forEach((field, value) -> {
+            switch (field) {
+                case "my-textarea" -> expected.put(field, value.replace("\r\n", "\n").replace('\r', '\n'));
+                case "my-select" -> expected.put(field, SELECT_VALUES.contains(value) ? value : "");
+                case "my-colors" -> expected.put(field, COLOR.matcher(value).matches() ? value.toLowerCase(Locale.ROOT) : "#000000");
+                case "my-range" -> expected.put(field, range(value));
+                case "my-check-1", "my-check-2" -> expected.put(field, String.valueOf(Boolean.parseBoolean(value)));
+                case "my-radio" -> {
+                    expected.put("my-radio-1", String.valueOf("my-radio-1".equals(value)));
+                    expected.put("my-radio-2", String.valueOf("my-radio-2".equals(value)));
+                }
+                default -> expected.put(field, value.replace("\r", "").replace("\n", ""));
+            }
+        });
+        return expected;
+    }
+
+    /**
+     * Некорректное число - значение по умолчанию (середина диапазона), иначе ближайший шаг, при равенстве - больший.
+     */
+    private static String range(String value) {
+        if (!FLOAT.matcher(value).matches()) {
+            return String.valueOf(RANGE_MIN + (RANGE_MAX - RANGE_MIN) / 2);
+        }
+        double number = new BigDecimal(value).doubleValue();
+        long stepped = (long) Math.floor(number + 0.5);
+        return String.valueOf(Math.max(RANGE_MIN, Math.min(RANGE_MAX, stepped)));
+    }
+}
@@ -0,0 +1,16 @@
+package ui.formfill;
+
+import java.util.Map;
+
+/**
+ * Одна строка входных данных: значения полей формы.
+ * <p>
+ * Ключи - имена полей (my-text, my-select, my-range...), для флажков - id (my-check-1, my-check-2).
+ * Для переключателя my-radio значение - id выбранного варианта (my-radio-1 или my-radio-2),
+ * для флажков - true/false.
+ */
+public record FormRow(String id, Map<String, String> fields) {
+    public FormRow {
+        fields = Map.copyOf(fields);
+    }
+}
@@ -0,0 +1,67 @@
+package ui.formfill;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Сочетания значений, на которых форма может ошибиться: юникод, длинный многострочный текст,
+ * граничные и некорректные даты, значения ползунка и цвета за пределами допустимого.
+ */
+final class GeneratedRowSource extends RowSource {
+    private static final List<String> TEXTS = List.of("", "Test", "Привет, мир", "日本語のテキスト", "emoji 😀👍🏽", "עברית RTL",
+            "é combining", "  spaces  ", "<script>alert(1)</script>", "'; DROP TABLE users; --", "line\nbreak", "tab\tseparated");
+    private static final List<String> SELECTS = List.of("1", "2", "3", "4", "", "Open this select menu");
+    private static final List<String> CITIES = List.of("San Francisco", "New York", "Seattle", "Los Angeles", "Chicago", "Санкт-Петербург", "");
+    private static final List<String> COLORS = List.of("#563d7c", "#FFFFFF", "#000000", "#abc", "red", "#00ff00", "#DC193E", "");
+    private static final List<String> DATES = List.of("", "01/01/1970", "02/29/2024", "02/29/2023", "12/31/9999", "13/45/2020", "03/03/1988", "not a date");
+    private static final List<String> RANGES = List.of("0", "5", "10", "-1", "11", "4.5", "5.5", "1e1", "abc", "", "3.2");
+    private static final String PARAGRAPH = "Lorem ipsum dolor sit amet, consectetur adipiscing elit. ";
+
+    private final int count;
+    private final Random random;
+    private int produced;
+
+    GeneratedRowSource(int count, long seed) {
+        this.count = count;
+        this.random = new Random(seed);
+    }
+
+    @Override
+    protected FormRow read() {
+        if (produced == count) {
+            return null;
+        }
+        produced++;
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("my-text", pick(TEXTS));
+        fields.put("my-password", pick(TEXTS));
+        fields.put("my-textarea", textarea());
+        fields.put("my-select", pick(SELECTS));
+        fields.put("my-datalist", pick(CITIES));
+        fields.put("my-check-1", String.valueOf(random.nextBoolean()));
+        fields.put("my-check-2", String.valueOf(random.nextBoolean()));
+        fields.put("my-radio", random.nextBoolean() ? "my-radio-1" : "my-radio-2");
+        fields.put("my-colors", pick(COLORS));
+        fields.put("my-date", pick(DATES));
+        fields.put("my-range", pick(RANGES));
+        return new FormRow("generated-" + produced, fields);
+    }
+
+    private String pick(List<String> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    /**
+     * Текст до ~20 тысяч символов с переводами строк разных видов и юникодом.
+     */
+    private String textarea() {
+        int paragraphs = random.nextInt(4) == 0 ? random.nextInt(350) : random.nextInt(3);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < paragraphs; i++) {
+            text.append(PARAGRAPH).append(pick(TEXTS)).append(random.nextBoolean() ? "\n" : "\r\n");
+        }
+        return text.toString();
+    }
+}
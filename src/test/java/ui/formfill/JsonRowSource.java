@@ -0,0 +1,44 @@
+package ui.formfill;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonInput;
+
+import java.io.Reader;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Потоковое чтение JSON-массива строк через JsonInput из Selenium: в памяти только текущий объект.
+ */
+final class JsonRowSource extends RowSource {
+    private final JsonInput input;
+    private boolean started;
+    private long number;
+
+    JsonRowSource(Reader reader) {
+        this.input = new Json().newInput(reader);
+    }
+
+    @Override
+    protected FormRow read() {
+        if (!started) {
+            input.beginArray();
+            started = true;
+        }
+        if (!input.hasNext()) {
+            input.endArray();
+            return null;
+        }
+        number++;
+        Map<String, Object> object = input.read(Json.MAP_TYPE);
+        Map<String, String> fields = new LinkedHashMap<>();
+        object.forEach((name, value) -> fields.put(name, String.valueOf(value)));
+        String id = fields.containsKey("id") ? fields.remove("id") : String.valueOf(number);
+        return new FormRow(id, fields);
+    }
+
+    @Override
+    public void close() {
+        input.close();
+    }
+}
@@ -0,0 +1,64 @@
+package ui.formfill;
+
+import java.io.Reader;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Поток строк данных для {@link BulkFormFill}. Строки читаются по одной, а не загружаются целиком,
+ * поэтому размер файла не ограничен памятью. Не потокобезопасен: {@link BulkFormFill} читает его под блокировкой.
+ */
+public abstract class RowSource implements Iterator<FormRow>, AutoCloseable {
+    private FormRow next;
+    private boolean finished;
+
+    /**
+     * CSV с заголовком: колонка id (необязательна) и колонки с именами полей. Значения в кавычках могут
+     * содержать запятые, переводы строк и удвоенные кавычки (RFC 4180).
+     */
+    public static RowSource csv(Reader reader) {
+        return new CsvRowSource(reader);
+    }
+
+    /**
+     * JSON-массив объектов: {"id": "...", "my-text": "...", ...}. Массив разбирается потоково.
+     */
+    public static RowSource json(Reader reader) {
+        return new JsonRowSource(reader);
+    }
+
+    /**
+     * {@code count} случайных, но воспроизводимых строк: юникод, длинный текст, граничные даты и значения.
+     */
+    public static RowSource generated(int count, long seed) {
+        return new GeneratedRowSource(count, seed);
+    }
+
+    /**
+     * Следующая строка или null, если строк больше нет.
+     */
+    protected abstract FormRow read();
+
+    @Override
+    public final boolean hasNext() {
+        if (next == null && !finished) {
+            next = read();
+            finished = next == null;
+        }
+        return next != null;
+    }
+
+    @Override
+    public final FormRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        FormRow row = next;
+        next = null;
+        return row;
+    }
+
+    @Override
+    public void close() {
+    }
+}
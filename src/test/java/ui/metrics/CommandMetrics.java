@@ -0,0 +1,169 @@
+package ui.metrics;
+
+import org.mycompany.metrics.LatencyHistogram;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сбор задержек команд WebDriver за весь прогон: гистограмма на каждый тип команды в разрезе тестов
+ * и список самых медленных вызовов. В конце прогона всё выгружается в JSON
+ * (по умолчанию build/reports/webdriver-metrics.json, путь задаётся metrics.output).
+ */
+public final class CommandMetrics {
+    private static final String NO_TEST = "(no test)";
+    private static final int SLOWEST_CALLS = Integer.getInteger("metrics.slowestCalls", 25);
+    private static final ThreadLocal<TestTag> CURRENT_TEST = new ThreadLocal<>();
+    private static final Map<Key, LatencyHistogram> HISTOGRAMS = new ConcurrentHashMap<>();
+    private static final PriorityQueue<Call> SLOWEST = new PriorityQueue<>(Comparator.comparingLong(Call::micros));
+
+    private CommandMetrics() {
+        throw new AssertionError("Cannot instantiate CommandMetrics class");
+    }
+
+    /**
+     * Привязывает команды текущего потока к тесту. Вызывается {@link CommandMetricsExtension}.
+     */
+    static void startTest(String testClass, String testMethod) {
+        CURRENT_TEST.set(new TestTag(testClass, testMethod));
+    }
+
+    static void finishTest() {
+        CURRENT_TEST.remove();
+    }
+
+    /**
+     * Задача, которая в любом потоке записывает команды на тест, выполняющийся в текущем потоке.
+     */
+    public static <T> Callable<T> inCurrentTest(Callable<T> task) {
+        TestTag test = CURRENT_TEST.get();
+        return () -> {
+            TestTag previous = CURRENT_TEST.get();
+            CURRENT_TEST.set(test);
+            try {
+                return task.call();
+            } finally {
+                CURRENT_TEST.set(previous);
+            }
+        };
+    }
+
+    public static void record(String command, long nanos) {
+        TestTag test = CURRENT_TEST.get();
+        if (test == null) {
+            test = new TestTag(NO_TEST, NO_TEST);
+        }
+        HISTOGRAMS.computeIfAbsent(new Key(command, test.testClass(), test.testMethod()), key -> new LatencyHistogram())
+                .record(nanos, TimeUnit.NANOSECONDS);
+
+        long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+        synchronized (SLOWEST) {
+            if (SLOWEST.size() < SLOWEST_CALLS || SLOWEST.peek().micros() < micros) {
+                SLOWEST.add(new Call(command, test.testClass(), test.testMethod(), micros, Instant.now()));
+                if (SLOWEST.size() > SLOWEST_CALLS) {
+                    SLOWEST.poll();
+                }
+            }
+        }
+    }
+
+    public static void export() {
+        Path output = Path.of(System.getProperty("metrics.output", "build/reports/webdriver-metrics.json"));
+        try {
+            if (output.getParent() != null) {
+                Files.createDirectories(output.getParent());
+            }
+            Files.writeString(output, new Json().toJson(report()), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to export WebDriver metrics to " + output, e);
+        }
+    }
+
+    static Map<String, Object> report() {
+        Map<String, LatencyHistogram> byCommand = new HashMap<>();
+        List<Map<String, Object>> byTest = new ArrayList<>();
+        HISTOGRAMS.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(Comparator.comparing(Key::testClass).thenComparing(Key::testMethod).thenComparing(Key::command)))
+                .forEach(entry -> {
+                    Key key = entry.getKey();
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("testClass", key.testClass());
+                    row.put("testMethod", key.testMethod());
+                    row.put("command", key.command());
+                    row.putAll(summary(entry.getValue()));
+                    byTest.add(row);
+                    byCommand.computeIfAbsent(key.command(), command -> new LatencyHistogram()).add(entry.getValue());
+                });
+
+        // Команды по убыванию суммарного времени - сверху то, на что уходит больше всего времени прогона
+        List<Map<String, Object>> commands = new ArrayList<>();
+        byCommand.entrySet().stream()
+                .sorted(Comparator.comparingDouble((Map.Entry<String, LatencyHistogram> entry) -> entry.getValue().totalMillis()).reversed())
+                .forEach(entry -> {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("command", entry.getKey());
+                    row.putAll(summary(entry.getValue()));
+                    commands.add(row);
+                });
+
+        List<Map<String, Object>> slowest = new ArrayList<>();
+        synchronized (SLOWEST) {
+            SLOWEST.stream().sorted(Comparator.comparingLong(Call::micros).reversed()).forEach(call -> {
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("command", call.command());
+                row.put("testClass", call.testClass());
+                row.put("testMethod", call.testMethod());
+                row.put("ms", call.micros() / 1000.0);
+                row.put("finishedAt", call.finishedAt().toString());
+                slowest.add(row);
+            });
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", Instant.now().toString());
+        report.put("commands", commands);
+        report.put("byTest", byTest);
+        report.put("slowest", slowest);
+        return report;
+    }
+
+    private static Map<String, Object> summary(LatencyHistogram histogram) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", histogram.count());
+        summary.put("totalMs", round(histogram.totalMillis()));
+        summary.put("meanMs", round(histogram.meanMillis()));
+        summary.put("p50Ms", round(histogram.percentileMillis(50)));
+        summary.put("p90Ms", round(histogram.percentileMillis(90)));
+        summary.put("p99Ms", round(histogram.percentileMillis(99)));
+        summary.put("maxMs", round(histogram.maxMillis()));
+        return summary;
+    }
+
+    private static double round(double millis) {
+        return Math.round(millis * 1000) / 1000.0;
+    }
+
+    private record TestTag(String testClass, String testMethod) {
+    }
+
+    private record Key(String command, String testClass, String testMethod) {
+    }
+
+    private record Call(String command, String testClass, String testMethod, long micros, Instant finishedAt) {
+    }
+}
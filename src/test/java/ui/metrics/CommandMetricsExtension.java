@@ -0,0 +1,34 @@
+package ui.metrics;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import ui.wait.WaitReport;
+
+/**
+ * Привязывает команды WebDriver к тесту, который их выполняет, и выгружает {@link CommandMetrics}
+ * и {@link WaitReport} в конце прогона. Должно быть зарегистрировано раньше DriverPoolExtension, чтобы выдача сессии
+ * и подготовка страницы тоже попадали в метрики теста.
+ */
+public class CommandMetricsExtension implements BeforeAllCallback, BeforeEachCallback, AfterEachCallback {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(CommandMetricsExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent("exporter",
+                key -> (ExtensionContext.Store.CloseableResource) CommandMetrics::export);
+        context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent("waits",
+                key -> (ExtensionContext.Store.CloseableResource) WaitReport::export);
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        CommandMetrics.startTest(context.getRequiredTestClass().getSimpleName(), context.getRequiredTestMethod().getName());
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        CommandMetrics.finishTest();
+    }
+}
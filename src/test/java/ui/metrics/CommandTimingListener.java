@@ -0,0 +1,53 @@
+package ui.metrics;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Слушатель EventFiringDecorator, который измеряет длительность каждого вызова драйвера, элемента,
+ * навигации и т.д. и передаёт её в {@link CommandMetrics}.
+ * Время начала хранится в стеке потока, поэтому вложенные вызовы и параллельные тесты не мешают друг другу.
+ */
+public class CommandTimingListener implements WebDriverListener {
+    private static final ThreadLocal<Deque<Long>> STARTED = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        STARTED.get().push(System.nanoTime());
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish(target, method);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finish(target, method);
+    }
+
+    private void finish(Object target, Method method) {
+        Long started = STARTED.get().poll();
+        if (started != null) {
+            CommandMetrics.record(commandName(target, method), System.nanoTime() - started);
+        }
+    }
+
+    static String commandName(Object target, Method method) {
+        String owner;
+        if (target instanceof WebElement) {
+            owner = "WebElement";
+        } else if (target instanceof WebDriver) {
+            owner = "WebDriver";
+        } else {
+            owner = method.getDeclaringClass().getSimpleName();
+        }
+        return owner + "." + method.getName();
+    }
+}
@@ -0,0 +1,151 @@
+package ui.monitor;
+
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Снятие ресурсов одной сессии браузера.
+ * <p>
+ * Процессы находятся по каталогу профиля, который chromedriver передаёт Chrome (--user-data-dir, есть в capabilities):
+ * корень - процесс браузера, остальные - его потомки на момент снимка. Память читается из /proc/&lt;pid&gt;/status,
+ * процессорное время - через {@link ProcessHandle.Info}. У удалённой сессии (remote.url, другой хост) процессов
+ * не найти - остаются только метрики страницы из DevTools.
+ */
+final class BrowserProbe {
+    private static final Command<Map<String, Object>> GET_METRICS =
+            new Command<>("Performance.getMetrics", Map.of(), input -> input.read(Json.MAP_TYPE));
+    private static final Path PROC = Path.of("/proc");
+
+    private final int id;
+    private final ProcessHandle browser;
+    private final DevTools devTools;
+    private ResourceSample first;
+
+    private BrowserProbe(int id, ProcessHandle browser, DevTools devTools) {
+        this.id = id;
+        this.browser = browser;
+        this.devTools = devTools;
+    }
+
+    static BrowserProbe attach(WebDriver driver, int id) {
+        DevTools devTools = null;
+        if (driver instanceof HasDevTools hasDevTools) {
+            try {
+                devTools = hasDevTools.getDevTools();
+                devTools.createSessionIfThereIsNotOne();
+                devTools.send(new Command<Void>("Performance.enable", Map.of()));
+            } catch (WebDriverException e) {
+                System.out.println("[monitor] Page metrics are unavailable: " + e.getMessage());
+                devTools = null;
+            }
+        }
+        return new BrowserProbe(id, browserProcess(driver).orElse(null), devTools);
+    }
+
+    int id() {
+        return id;
+    }
+
+    /**
+     * Первый снимок сессии - точка отсчёта роста памяти.
+     */
+    ResourceSample first() {
+        return first;
+    }
+
+    ResourceSample sample() {
+        long rss = -1;
+        long cpu = -1;
+        int processes = 0;
+        if (browser != null && browser.isAlive()) {
+            List<ProcessHandle> tree = Stream.concat(Stream.of(browser), browser.descendants()).filter(ProcessHandle::isAlive).toList();
+            processes = tree.size();
+            rss = Files.isDirectory(PROC) ? tree.stream().mapToLong(BrowserProbe::rssBytes).sum() : -1;
+            cpu = tree.stream().mapToLong(process -> process.info().totalCpuDuration().map(Duration::toMillis).orElse(0L)).sum();
+        }
+        Map<String, Number> metrics = pageMetrics();
+        ResourceSample sample = new ResourceSample(rss, cpu, processes, metric(metrics, "JSHeapUsedSize"),
+                metric(metrics, "Nodes"), metric(metrics, "Documents"));
+        if (first == null) {
+            first = sample;
+        }
+        return sample;
+    }
+
+    private Map<String, Number> pageMetrics() {
+        if (devTools == null) {
+            return Map.of();
+        }
+        try {
+            Map<String, Number> metrics = new HashMap<>();
+            Object list = devTools.send(GET_METRICS).get("metrics");
+            if (list instanceof List<?> entries) {
+                for (Object entry : entries) {
+                    if (entry instanceof Map<?, ?> metric && metric.get("name") instanceof String name && metric.get("value") instanceof Number value) {
+                        metrics.put(name, value);
+                    }
+                }
+            }
+            return metrics;
+        } catch (WebDriverException e) {
+            return Map.of();
+        }
+    }
+
+    private static long metric(Map<String, Number> metrics, String name) {
+        Number value = metrics.get(name);
+        return value == null ? -1 : value.longValue();
+    }
+
+    private static Optional<ProcessHandle> browserProcess(WebDriver driver) {
+        if (!(driver instanceof HasCapabilities hasCapabilities)
+                || !(hasCapabilities.getCapabilities().getCapability("chrome") instanceof Map<?, ?> chrome)
+                || !(chrome.get("userDataDir") instanceof String userDataDir)) {
+            return Optional.empty();
+        }
+        String flag = "--user-data-dir=" + userDataDir;
+        // Флаг профиля есть и у дочерних процессов, корень - тот, у чьего родителя его нет
+        return ProcessHandle.allProcesses()
+                .filter(process -> commandLine(process).contains(flag))
+                .filter(process -> process.parent().map(parent -> !commandLine(parent).contains(flag)).orElse(true))
+                .findFirst();
+    }
+
+    private static String commandLine(ProcessHandle process) {
+        Path cmdline = PROC.resolve(Long.toString(process.pid())).resolve("cmdline");
+        try {
+            return new String(Files.readAllBytes(cmdline), StandardCharsets.UTF_8).replace('\0', ' ');
+        } catch (IOException | SecurityException e) {
+            return process.info().commandLine().orElse("");
+        }
+    }
+
+    private static long rssBytes(ProcessHandle process) {
+        try (Stream<String> lines = Files.lines(PROC.resolve(Long.toString(process.pid())).resolve("status"))) {
+            // "VmRSS:     123456 kB"
+            return lines.filter(line -> line.startsWith("VmRSS:"))
+                    .mapToLong(line -> Long.parseLong(line.replaceAll("\\D", "")) * 1024)
+                    .findFirst()
+                    .orElse(0);
+        } catch (IOException | UncheckedIOException | NumberFormatException e) {
+            return 0; // процесс завершился между снимком списка и чтением
+        }
+    }
+}
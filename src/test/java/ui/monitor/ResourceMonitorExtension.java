@@ -0,0 +1,105 @@
+package ui.monitor;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.openqa.selenium.WebDriver;
+import ui.driver.DriverLease;
+import ui.driver.DriverPoolExtension;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Следит за памятью и процессорным временем браузера (см. {@link BrowserProbe}) и заменяет сессию,
+ * которая разрослась: за долгий класс вроде WebFormTests память Chrome растёт, и тесты замедляются.
+ * <p>
+ * Снимки делаются до и после каждого теста, результаты - в {@link ResourceReport}. Если после теста превышен порог,
+ * сессия помечается непригодной и при возврате в пул закрывается, следующий тест получает новую.
+ * Пороги (0 - без ограничения): monitor.maxRssMb - память всех процессов браузера, monitor.maxRssGrowthMb -
+ * рост этой памяти с первого теста сессии, monitor.maxJsHeapMb - JS heap страницы.
+ * Включается -Dmonitor=true или любым из порогов. Регистрируется после DriverPoolExtension.
+ * Снятие сессии забывается, когда пул её закрывает ({@link ui.driver.DriverPool#onDiscard}).
+ */
+public class ResourceMonitorExtension implements BeforeAllCallback, BeforeTestExecutionCallback, AfterTestExecutionCallback {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(ResourceMonitorExtension.class);
+    private static final long MAX_RSS_BYTES = megabytes("monitor.maxRssMb");
+    private static final long MAX_RSS_GROWTH_BYTES = megabytes("monitor.maxRssGrowthMb");
+    private static final long MAX_JS_HEAP_BYTES = megabytes("monitor.maxJsHeapMb");
+    private static final boolean ENABLED = Boolean.getBoolean("monitor") || MAX_RSS_BYTES > 0 || MAX_RSS_GROWTH_BYTES > 0 || MAX_JS_HEAP_BYTES > 0;
+    private static final Map<WebDriver, BrowserProbe> PROBES = Collections.synchronizedMap(new IdentityHashMap<>());
+    private static final AtomicInteger SESSIONS = new AtomicInteger();
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        if (ENABLED) {
+            context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent("report",
+                    key -> (ExtensionContext.Store.CloseableResource) ResourceReport::export);
+            // Один раз на пул: закрытые сессии (maxUses, сбой, замена после порога) больше не понадобятся
+            context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent("discard", key -> {
+                DriverPoolExtension.pool(context).onDiscard(PROBES::remove);
+                return Boolean.TRUE;
+            });
+        }
+    }
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        DriverLease lease = DriverPoolExtension.lease(context);
+        if (!ENABLED || lease == null) {
+            return;
+        }
+        BrowserProbe probe = PROBES.get(lease.driver());
+        if (probe == null) {
+            probe = BrowserProbe.attach(lease.driver(), SESSIONS.incrementAndGet());
+            PROBES.put(lease.driver(), probe);
+        }
+        context.getStore(NAMESPACE).put(ResourceSample.class, probe.sample());
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        ResourceSample before = context.getStore(NAMESPACE).remove(ResourceSample.class, ResourceSample.class);
+        DriverLease lease = DriverPoolExtension.lease(context);
+        if (before == null || lease == null) {
+            return;
+        }
+        BrowserProbe probe = PROBES.get(lease.driver());
+        if (probe == null) {
+            return;
+        }
+        ResourceSample after = probe.sample();
+        String recycle = exceeded(probe.first(), after);
+        if (recycle != null) {
+            lease.invalidate();
+            System.out.println("[monitor] Recycling browser session #" + probe.id() + " after "
+                    + context.getRequiredTestClass().getSimpleName() + "." + context.getRequiredTestMethod().getName() + ": " + recycle);
+        }
+        ResourceReport.record(context.getRequiredTestClass().getSimpleName(), context.getRequiredTestMethod().getName(),
+                probe.id(), probe.first(), before, after, recycle);
+    }
+
+    static String exceeded(ResourceSample first, ResourceSample sample) {
+        if (MAX_RSS_BYTES > 0 && sample.rssBytes() > MAX_RSS_BYTES) {
+            return "browser RSS " + mb(sample.rssBytes()) + " MB > " + mb(MAX_RSS_BYTES) + " MB";
+        }
+        if (MAX_RSS_GROWTH_BYTES > 0 && first.rssBytes() >= 0 && sample.rssBytes() - first.rssBytes() > MAX_RSS_GROWTH_BYTES) {
+            return "browser RSS grew by " + mb(sample.rssBytes() - first.rssBytes()) + " MB > " + mb(MAX_RSS_GROWTH_BYTES) + " MB";
+        }
+        if (MAX_JS_HEAP_BYTES > 0 && sample.jsHeapUsedBytes() > MAX_JS_HEAP_BYTES) {
+            return "JS heap " + mb(sample.jsHeapUsedBytes()) + " MB > " + mb(MAX_JS_HEAP_BYTES) + " MB";
+        }
+        return null;
+    }
+
+    static long mb(long bytes) {
+        return bytes < 0 ? -1 : bytes / (1024 * 1024);
+    }
+
+    private static long megabytes(String property) {
+        return Long.getLong(property, 0) * 1024 * 1024;
+    }
+}
@@ -0,0 +1,67 @@
+package ui.monitor;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static ui.monitor.ResourceMonitorExtension.mb;
+
+/**
+ * Ресурсы браузера по тестам: память и процессы после теста, процессорное время за тест, метрики страницы.
+ * В конце прогона пишется в monitor.output (build/reports/browser-resources.json).
+ */
+final class ResourceReport {
+    private static final List<Map<String, Object>> ROWS = new ArrayList<>();
+
+    private ResourceReport() {
+        throw new AssertionError("Cannot instantiate ResourceReport class");
+    }
+
+    static void record(String testClass, String testMethod, int session, ResourceSample first,
+                       ResourceSample before, ResourceSample after, String recycled) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("testClass", testClass);
+        row.put("testMethod", testMethod);
+        row.put("session", session);
+        row.put("rssMb", mb(after.rssBytes()));
+        row.put("rssGrowthMb", first.rssBytes() < 0 || after.rssBytes() < 0 ? -1 : mb(after.rssBytes() - first.rssBytes()));
+        // Процессы, завершившиеся во время теста, уносят своё время с собой - поэтому не меньше нуля
+        row.put("cpuMs", before.cpuMillis() < 0 || after.cpuMillis() < 0 ? -1 : Math.max(0, after.cpuMillis() - before.cpuMillis()));
+        row.put("processes", after.processes());
+        row.put("jsHeapUsedMb", mb(after.jsHeapUsedBytes()));
+        row.put("nodes", after.nodes());
+        row.put("documents", after.documents());
+        row.put("recycled", recycled);
+        synchronized (ROWS) {
+            ROWS.add(row);
+        }
+    }
+
+    static void export() {
+        Path output = Path.of(System.getProperty("monitor.output", "build/reports/browser-resources.json"));
+        List<Map<String, Object>> rows;
+        synchronized (ROWS) {
+            rows = List.copyOf(ROWS);
+        }
+        long recycled = rows.stream().filter(row -> row.get("recycled") != null).count();
+        long peakRss = rows.stream().mapToLong(row -> (Long) row.get("rssMb")).max().orElse(-1);
+        System.out.println("[monitor] " + rows.size() + " tests sampled, peak browser RSS " + peakRss + " MB, "
+                + recycled + " sessions recycled; report: " + output);
+        try {
+            if (output.getParent() != null) {
+                Files.createDirectories(output.getParent());
+            }
+            Files.writeString(output, new Json().toJson(Map.of("tests", rows, "recycled", recycled)), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to export browser resources to " + output, e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package ui.monitor;
+
+/**
+ * Снимок ресурсов одной сессии браузера. Значение -1 - снять не удалось (нет /proc, DevTools или процесса браузера).
+ *
+ * @param rssBytes        сумма VmRSS процесса браузера и всех его дочерних процессов (общие страницы считаются несколько раз)
+ * @param cpuMillis       процессорное время этих процессов с их запуска
+ * @param processes       число процессов браузера (рендереры, GPU, утилиты)
+ * @param jsHeapUsedBytes JSHeapUsedSize текущей страницы (CDP Performance.getMetrics)
+ * @param nodes           число DOM-узлов страницы
+ * @param documents       число документов страницы
+ */
+public record ResourceSample(long rssBytes, long cpuMillis, int processes, long jsHeapUsedBytes, long nodes, long documents) {
+}
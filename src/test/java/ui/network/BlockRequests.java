@@ -0,0 +1,24 @@
+package ui.network;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Запросы, которые не нужны тестам класса: браузер не загружает их, страница открывается быстрее.
+ * Работает вместе с {@link RequestBlockingExtension}.
+ * <p>
+ * Шаблоны URL - в синтаксисе DevTools: {@code *} - любая последовательность символов, {@code ?} - один символ.
+ * Запросы из {@link #stub()} не блокируются, а получают пустой ответ 200 - для скриптов, без которых страница
+ * выдаёт ошибки (аналитика).
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface BlockRequests {
+    ResourceType[] types() default {ResourceType.IMAGE, ResourceType.FONT, ResourceType.MEDIA};
+
+    String[] urls() default {};
+
+    String[] stub() default {"*googletagmanager.com/*", "*google-analytics.com/*"};
+}
@@ -0,0 +1,84 @@
+package ui.network;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Отчёт о блокировке запросов за весь прогон: отчёты {@link RequestBlocker} всех тестов суммируются по странице.
+ * В конце прогона пишется в blocking.output (по умолчанию build/reports/request-blocking.json),
+ * вместе с числом сессий, в которых блокировка не включилась (нет DevTools).
+ */
+final class BlockingReport {
+    private static final Map<String, Totals> PAGES = new ConcurrentHashMap<>();
+    private static final AtomicInteger UNAVAILABLE = new AtomicInteger();
+    private static volatile String unavailableReason;
+
+    private BlockingReport() {
+        throw new AssertionError("Cannot instantiate BlockingReport class");
+    }
+
+    static void add(List<RequestBlocker.PageReport> reports) {
+        reports.forEach(report -> PAGES.computeIfAbsent(report.page(), key -> new Totals()).add(report));
+    }
+
+    static void unavailable(String reason) {
+        UNAVAILABLE.incrementAndGet();
+        unavailableReason = reason;
+    }
+
+    static void export() {
+        Path output = Path.of(System.getProperty("blocking.output", "build/reports/request-blocking.json"));
+        List<Map<String, Object>> pages = new ArrayList<>();
+        new TreeMap<>(PAGES).forEach((page, totals) -> pages.add(totals.toMap(page)));
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("pages", pages);
+        report.put("unavailableSessions", UNAVAILABLE.get());
+        if (unavailableReason != null) {
+            report.put("unavailableReason", unavailableReason);
+        }
+        try {
+            if (output.getParent() != null) {
+                Files.createDirectories(output.getParent());
+            }
+            Files.writeString(output, new Json().toJson(report), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to export request blocking report to " + output, e);
+        }
+    }
+
+    private static final class Totals {
+        private long blocked;
+        private long stubbed;
+        private long knownBytesSaved;
+        private long unknownSizes;
+
+        synchronized void add(RequestBlocker.PageReport report) {
+            blocked += report.blocked();
+            stubbed += report.stubbed();
+            knownBytesSaved += report.knownBytesSaved();
+            unknownSizes += report.unknownSizes();
+        }
+
+        synchronized Map<String, Object> toMap(String page) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("page", page);
+            row.put("blocked", blocked);
+            row.put("stubbed", stubbed);
+            row.put("knownBytesSaved", knownBytesSaved);
+            row.put("unknownSizes", unknownSizes);
+            return row;
+        }
+    }
+}
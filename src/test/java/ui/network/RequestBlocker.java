@@ -0,0 +1,181 @@
+package ui.network;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Блокировка запросов в одной сессии браузера через DevTools (домен Fetch).
+ * <p>
+ * Используются общие команды Command/Event, а не классы конкретной версии CDP (v131, v132...),
+ * поэтому обновление Chrome не ломает блокировку. Браузер останавливает только запросы, подходящие
+ * под шаблоны Fetch.enable, остальные идут без задержки.
+ * <p>
+ * Сэкономленный трафик оценивается по размерам из калибровочного прогона без блокировки ({@link ResourceSizes}):
+ * сам блокировщик ничего не загружает. Размеры ресурсов, которых нет в калибровке, в отчёте - unknownSizes.
+ * <p>
+ * События DevTools приходят через {@link SessionEvents}: после {@link #close()} подписки сессии остаются,
+ * но блокировщик от них отключён.
+ */
+public final class RequestBlocker implements AutoCloseable {
+    private final DevTools devTools;
+    private final SessionEvents events;
+    private final List<String> stubPatterns;
+    private final Map<String, PageStats> pages = Collections.synchronizedMap(new LinkedHashMap<>());
+    private volatile String currentPage = "(before first navigation)";
+
+    private RequestBlocker(DevTools devTools, List<String> stubPatterns) {
+        this.devTools = devTools;
+        this.events = SessionEvents.of(devTools);
+        this.stubPatterns = stubPatterns;
+    }
+
+    /**
+     * Включает блокировку по правилам {@code rules}. Если браузер не поддерживает DevTools, блокировка не включается.
+     */
+    public static Optional<RequestBlocker> start(WebDriver driver, BlockRequests rules) {
+        if (!(driver instanceof HasDevTools hasDevTools)) {
+            return Optional.empty();
+        }
+        try {
+            DevTools devTools = hasDevTools.getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            RequestBlocker blocker = new RequestBlocker(devTools, List.of(rules.stub()));
+            blocker.enable(rules);
+            return Optional.of(blocker);
+        } catch (WebDriverException e) {
+            BlockingReport.unavailable(e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void enable(BlockRequests rules) {
+        List<Map<String, Object>> patterns = new ArrayList<>();
+        for (ResourceType type : rules.types()) {
+            patterns.add(Map.of("urlPattern", "*", "resourceType", type.cdpName(), "requestStage", "Request"));
+        }
+        for (String url : rules.urls()) {
+            patterns.add(Map.of("urlPattern", url, "requestStage", "Request"));
+        }
+        for (String url : rules.stub()) {
+            patterns.add(Map.of("urlPattern", url, "requestStage", "Request"));
+        }
+        events.attach(this);
+        devTools.send(new Command<Void>("Page.enable", Map.of()));
+        devTools.send(new Command<Void>("Fetch.enable", Map.of("patterns", patterns)));
+    }
+
+    @SuppressWarnings("unchecked")
+    void onFrameNavigated(Map<String, Object> params) {
+        Map<String, Object> frame = (Map<String, Object>) params.get("frame");
+        if (frame != null && frame.get("parentId") == null) {
+            currentPage = (String) frame.get("url");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    void onRequestPaused(Map<String, Object> params) {
+        String requestId = (String) params.get("requestId");
+        String url = (String) ((Map<String, Object>) params.get("request")).get("url");
+        boolean stub = stubPatterns.stream().anyMatch(pattern -> matches(pattern, url));
+        try {
+            if (stub) {
+                devTools.send(new Command<Void>("Fetch.fulfillRequest", Map.of(
+                        "requestId", requestId,
+                        "responseCode", 200,
+                        "responseHeaders", List.of(Map.of("name", "Content-Type", "value", "application/javascript")),
+                        "body", "")));
+            } else {
+                devTools.send(new Command<Void>("Fetch.failRequest", Map.of("requestId", requestId, "errorReason", "BlockedByClient")));
+            }
+        } catch (WebDriverException e) {
+            // Вкладка закрылась или страница ушла дальше - запрос уже не нужен
+            return;
+        }
+        pages.computeIfAbsent(currentPage, PageStats::new).add(url, stub);
+    }
+
+    /**
+     * Шаблон DevTools: * и ? без экранирования.
+     */
+    static boolean matches(String pattern, String url) {
+        StringBuilder regex = new StringBuilder();
+        for (char c : pattern.toCharArray()) {
+            switch (c) {
+                case '*' -> regex.append(".*");
+                case '?' -> regex.append('.');
+                default -> regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return url.matches(regex.toString());
+    }
+
+    /**
+     * Заблокированные запросы по загруженным страницам.
+     */
+    public List<PageReport> report() {
+        List<PageReport> reports = new ArrayList<>();
+        synchronized (pages) {
+            for (PageStats stats : pages.values()) {
+                reports.add(new PageReport(stats.page, stats.blocked.get(), stats.stubbed.get(), stats.knownBytes.get(), stats.unknownSizes.get()));
+            }
+        }
+        return reports;
+    }
+
+    /**
+     * Выключает блокировку: сессия возвращается в пул без перехвата запросов.
+     */
+    @Override
+    public void close() {
+        events.detach(this);
+        try {
+            devTools.send(new Command<Void>("Fetch.disable", Map.of()));
+            devTools.send(new Command<Void>("Page.disable", Map.of()));
+        } catch (WebDriverException e) {
+            // Браузер уже закрыт
+        }
+    }
+
+    /**
+     * @param knownBytesSaved сумма известных размеров заблокированных ресурсов
+     * @param unknownSizes    сколько заблокированных ресурсов без известного размера
+     */
+    public record PageReport(String page, int blocked, int stubbed, long knownBytesSaved, int unknownSizes) {
+    }
+
+    private static final class PageStats {
+        private final String page;
+        private final AtomicInteger blocked = new AtomicInteger();
+        private final AtomicInteger stubbed = new AtomicInteger();
+        private final AtomicLong knownBytes = new AtomicLong();
+        private final AtomicInteger unknownSizes = new AtomicInteger();
+
+        private PageStats(String page) {
+            this.page = page;
+        }
+
+        void add(String url, boolean stub) {
+            (stub ? stubbed : blocked).incrementAndGet();
+            OptionalLong size = ResourceSizes.get(url);
+            if (size.isPresent()) {
+                knownBytes.addAndGet(size.getAsLong());
+            } else {
+                unknownSizes.incrementAndGet();
+            }
+        }
+    }
+}
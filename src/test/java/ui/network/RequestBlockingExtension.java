@@ -0,0 +1,49 @@
+package ui.network;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import ui.driver.DriverPoolExtension;
+
+/**
+ * Включает {@link RequestBlocker} на сессии теста по правилам {@link BlockRequests} тестового класса.
+ * Регистрируется после DriverPoolExtension: сессия должна быть уже выдана.
+ * После теста блокировка выключается, а заблокированные запросы добавляются в {@link BlockingReport},
+ * который пишется один раз в конце прогона.
+ * <p>
+ * -Dblocking=false отключает блокировку (например, чтобы сравнить время загрузки). Такой прогон заодно калибрует
+ * размеры ресурсов ({@link SizeCalibration}), по которым блокирующие прогоны оценивают сэкономленный трафик.
+ */
+public class RequestBlockingExtension implements BeforeEachCallback, AfterEachCallback {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(RequestBlockingExtension.class);
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        if ("false".equals(System.getProperty("blocking"))) {
+            context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent("sizes",
+                    key -> (ExtensionContext.Store.CloseableResource) ResourceSizes::save);
+            SizeCalibration.start(DriverPoolExtension.lease(context).driver())
+                    .ifPresent(calibration -> context.getStore(NAMESPACE).put(SizeCalibration.class, calibration));
+            return;
+        }
+        context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent("report",
+                key -> (ExtensionContext.Store.CloseableResource) BlockingReport::export);
+        AnnotationSupport.findAnnotation(context.getRequiredTestClass(), BlockRequests.class)
+                .flatMap(rules -> RequestBlocker.start(DriverPoolExtension.lease(context).driver(), rules))
+                .ifPresent(blocker -> context.getStore(NAMESPACE).put(RequestBlocker.class, blocker));
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        SizeCalibration calibration = context.getStore(NAMESPACE).remove(SizeCalibration.class, SizeCalibration.class);
+        if (calibration != null) {
+            calibration.close();
+        }
+        RequestBlocker blocker = context.getStore(NAMESPACE).remove(RequestBlocker.class, RequestBlocker.class);
+        if (blocker != null) {
+            blocker.close();
+            BlockingReport.add(blocker.report());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package ui.network;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Размеры ресурсов (байты по сети, encodedDataLength из DevTools), известные по калибровочному прогону
+ * с -Dblocking=false ({@link SizeCalibration}). По ним {@link RequestBlocker} оценивает сэкономленный трафик,
+ * сам он ничего не загружает. Файл - blocking.sizesFile (по умолчанию build/resource-sizes.properties).
+ */
+final class ResourceSizes {
+    private static final Path FILE = Path.of(System.getProperty("blocking.sizesFile", "build/resource-sizes.properties"));
+    private static final Map<String, Long> SIZES = new ConcurrentHashMap<>(read());
+    private static final Map<String, Long> RECORDED = new ConcurrentHashMap<>();
+
+    private ResourceSizes() {
+        throw new AssertionError("Cannot instantiate ResourceSizes class");
+    }
+
+    static OptionalLong get(String url) {
+        Long size = SIZES.get(url);
+        return size == null ? OptionalLong.empty() : OptionalLong.of(size);
+    }
+
+    static void record(String url, long bytes) {
+        SIZES.put(url, bytes);
+        RECORDED.put(url, bytes);
+    }
+
+    /**
+     * Дописывает размеры, снятые в этом прогоне, к файлу (другие JVM могли записать свои).
+     */
+    static synchronized void save() {
+        if (RECORDED.isEmpty()) {
+            return;
+        }
+        Map<String, Long> merged = read();
+        merged.putAll(RECORDED);
+        Properties properties = new Properties();
+        merged.forEach((url, size) -> properties.setProperty(url, Long.toString(size)));
+        try {
+            Path directory = FILE.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temporary = Files.createTempFile(directory, "resource-sizes", ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+                properties.store(writer, "Resource sizes from calibration runs (-Dblocking=false)");
+            }
+            Files.move(temporary, FILE, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to save resource sizes to " + FILE, e);
+        }
+    }
+
+    private static Map<String, Long> read() {
+        Map<String, Long> sizes = new ConcurrentHashMap<>();
+        if (!Files.isRegularFile(FILE)) {
+            return sizes;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(FILE, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            return sizes; // Без размеров отчёт покажет "unknown"
+        }
+        for (String url : properties.stringPropertyNames()) {
+            try {
+                sizes.put(url, Long.parseLong(properties.getProperty(url)));
+            } catch (NumberFormatException e) {
+                // Испорченная строка - пропускаем
+            }
+        }
+        return sizes;
+    }
+}
@@ -0,0 +1,26 @@
+package ui.network;
+
+/**
+ * Типы ресурсов в терминах Chrome DevTools Protocol (Network.ResourceType).
+ */
+public enum ResourceType {
+    STYLESHEET("Stylesheet"),
+    SCRIPT("Script"),
+    IMAGE("Image"),
+    FONT("Font"),
+    MEDIA("Media"),
+    XHR("XHR"),
+    FETCH("Fetch"),
+    PING("Ping"),
+    OTHER("Other");
+
+    private final String cdpName;
+
+    ResourceType(String cdpName) {
+        this.cdpName = cdpName;
+    }
+
+    public String cdpName() {
+        return cdpName;
+    }
+}
@@ -0,0 +1,82 @@
+package ui.network;
+
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.json.Json;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Подписки на события DevTools одной сессии браузера. Сессия из пула переходит от теста к тесту, а DevTools
+ * позволяет снять только все подписки сразу - вместе с чужими. Поэтому подписки делаются один раз на сессию
+ * и передают события тому {@link RequestBlocker} или {@link SizeCalibration}, который подключён сейчас.
+ */
+final class SessionEvents {
+    private static final Event<Map<String, Object>> REQUEST_PAUSED = new Event<>("Fetch.requestPaused", input -> input.read(Json.MAP_TYPE));
+    private static final Event<Map<String, Object>> FRAME_NAVIGATED = new Event<>("Page.frameNavigated", input -> input.read(Json.MAP_TYPE));
+    private static final Event<Map<String, Object>> RESPONSE_RECEIVED = new Event<>("Network.responseReceived", input -> input.read(Json.MAP_TYPE));
+    private static final Event<Map<String, Object>> LOADING_FINISHED = new Event<>("Network.loadingFinished", input -> input.read(Json.MAP_TYPE));
+    private static final Map<DevTools, SessionEvents> SESSIONS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private volatile RequestBlocker blocker;
+    private volatile SizeCalibration calibration;
+
+    private SessionEvents() {
+    }
+
+    static SessionEvents of(DevTools devTools) {
+        synchronized (SESSIONS) {
+            return SESSIONS.computeIfAbsent(devTools, key -> {
+                SessionEvents events = new SessionEvents();
+                events.listen(key);
+                return events;
+            });
+        }
+    }
+
+    void attach(RequestBlocker blocker) {
+        this.blocker = blocker;
+    }
+
+    void attach(SizeCalibration calibration) {
+        this.calibration = calibration;
+    }
+
+    void detach(Object handler) {
+        if (blocker == handler) {
+            blocker = null;
+        }
+        if (calibration == handler) {
+            calibration = null;
+        }
+    }
+
+    private void listen(DevTools devTools) {
+        devTools.addListener(FRAME_NAVIGATED, params -> {
+            RequestBlocker current = blocker;
+            if (current != null) {
+                current.onFrameNavigated(params);
+            }
+        });
+        devTools.addListener(REQUEST_PAUSED, params -> {
+            RequestBlocker current = blocker;
+            if (current != null) {
+                current.onRequestPaused(params);
+            }
+        });
+        devTools.addListener(RESPONSE_RECEIVED, params -> {
+            SizeCalibration current = calibration;
+            if (current != null) {
+                current.onResponseReceived(params);
+            }
+        });
+        devTools.addListener(LOADING_FINISHED, params -> {
+            SizeCalibration current = calibration;
+            if (current != null) {
+                current.onLoadingFinished(params);
+            }
+        });
+    }
+}
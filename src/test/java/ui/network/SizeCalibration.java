@@ -0,0 +1,66 @@
+package ui.network;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Запоминает размеры загруженных ресурсов (Network.loadingFinished, encodedDataLength) в прогоне без блокировки,
+ * чтобы {@link RequestBlocker} мог оценить сэкономленный трафик без собственных запросов. См. {@link ResourceSizes}.
+ */
+public final class SizeCalibration implements AutoCloseable {
+    private final DevTools devTools;
+    private final SessionEvents events;
+    private final Map<String, String> urls = new ConcurrentHashMap<>();
+
+    private SizeCalibration(DevTools devTools) {
+        this.devTools = devTools;
+        this.events = SessionEvents.of(devTools);
+    }
+
+    public static Optional<SizeCalibration> start(WebDriver driver) {
+        if (!(driver instanceof HasDevTools hasDevTools)) {
+            return Optional.empty();
+        }
+        try {
+            DevTools devTools = hasDevTools.getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            SizeCalibration calibration = new SizeCalibration(devTools);
+            calibration.events.attach(calibration);
+            devTools.send(new Command<Void>("Network.enable", Map.of()));
+            return Optional.of(calibration);
+        } catch (WebDriverException e) {
+            return Optional.empty();
+        }
+    }
+
+    void onResponseReceived(Map<String, Object> params) {
+        Object response = params.get("response");
+        if (response instanceof Map<?, ?> map && map.get("url") instanceof String url && url.startsWith("http")) {
+            urls.put((String) params.get("requestId"), url);
+        }
+    }
+
+    void onLoadingFinished(Map<String, Object> params) {
+        String url = urls.remove((String) params.get("requestId"));
+        if (url != null && params.get("encodedDataLength") instanceof Number length) {
+            ResourceSizes.record(url, length.longValue());
+        }
+    }
+
+    @Override
+    public void close() {
+        events.detach(this);
+        try {
+            devTools.send(new Command<Void>("Network.disable", Map.of()));
+        } catch (WebDriverException e) {
+            // Браузер уже закрыт
+        }
+    }
+}
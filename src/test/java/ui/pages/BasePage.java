@@ -0,0 +1,64 @@
+package ui.pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import ui.site.Page;
+import ui.wait.Wait;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static ui.wait.Conditions.stale;
+
+/**
+ * Базовый класс page object. Элементы объявляются через {@link #element(By)} и ищутся лениво - при первом использовании.
+ * <p>
+ * Методы, после которых загружается другая страница, должны вызывать {@link #navigated()}:
+ * все закешированные элементы будут найдены заново при следующем обращении.
+ * Объект страницы не потокобезопасен - как и сессия, он принадлежит одному тесту.
+ */
+public abstract class BasePage {
+    protected final WebDriver driver;
+    private final Map<By, WebElement> elements = new HashMap<>();
+    private int generation;
+
+    protected BasePage(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    public WebDriver driver() {
+        return driver;
+    }
+
+    /**
+     * Ленивый закешированный элемент. Для одного локатора возвращается один и тот же объект.
+     */
+    protected WebElement element(By locator) {
+        return elements.computeIfAbsent(locator, key -> CachedElement.proxy(this, key));
+    }
+
+    /**
+     * Страница сменилась - закешированные элементы больше не действительны.
+     */
+    protected void navigated() {
+        generation++;
+    }
+
+    int generation() {
+        return generation;
+    }
+
+    /**
+     * Клик по ссылке и ожидание готовности новой страницы {@code target}. Адрес может не измениться
+     * (ссылка на текущую страницу), поэтому сначала ждём, пока старый элемент устареет.
+     * Клик идёт через кеширующий прокси (с повтором при stale), а ждём устаревания элемента, по которому кликнули.
+     */
+    protected void clickAndWaitForPage(WebElement link, Page target) {
+        link.click();
+        WebElement current = link instanceof WrapsElement wrapper ? wrapper.getWrappedElement() : link;
+        Wait.until(driver, stale(current).and(target.ready()), Wait.PAGE_LOAD_TIMEOUT);
+        navigated();
+    }
+}
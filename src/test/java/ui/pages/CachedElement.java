@@ -0,0 +1,74 @@
+package ui.pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Ленивый элемент страницы. Поиск выполняется при первом обращении, найденный элемент кешируется,
+ * поэтому повторные обращения на той же странице не делают лишний findElement.
+ * <p>
+ * Кеш сбрасывается, когда страница сообщает о переходе ({@link BasePage#navigated()}), и когда элемент устарел:
+ * при StaleElementReferenceException элемент ищется заново, и вызов повторяется один раз.
+ * Исходный элемент доступен через {@link WrapsElement#getWrappedElement()} - например, для ожидания {@code stale()}.
+ */
+final class CachedElement implements InvocationHandler {
+    private final BasePage page;
+    private final By locator;
+    private WebElement element;
+    private int generation;
+
+    private CachedElement(BasePage page, By locator) {
+        this.page = page;
+        this.locator = locator;
+    }
+
+    static WebElement proxy(BasePage page, By locator) {
+        return (WebElement) Proxy.newProxyInstance(CachedElement.class.getClassLoader(),
+                new Class<?>[]{WebElement.class, WrapsElement.class, Locatable.class},
+                new CachedElement(page, locator));
+    }
+
+    private WebElement resolve() {
+        if (element == null || generation != page.generation()) {
+            element = page.driver().findElement(locator);
+            generation = page.generation();
+        }
+        return element;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> "Cached element " + locator;
+            };
+        }
+        if (method.getDeclaringClass() == WrapsElement.class) {
+            return resolve();
+        }
+        try {
+            return call(method, args);
+        } catch (StaleElementReferenceException e) {
+            element = null;
+            return call(method, args);
+        }
+    }
+
+    private Object call(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(resolve(), args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package ui.pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import ui.site.Page;
+
+/**
+ * Страницы navigation1-3.html: пагинация. Готовность каждой страницы проверяется по её адресу,
+ * поэтому после "Next" и "Previous" ждём ту страницу, на которую ведёт ссылка (её href).
+ */
+public class NavigationPage extends BasePage {
+    private static final By PREVIOUS_BUTTON = By.xpath("//a[text()='Previous']");
+    private static final By NEXT_BUTTON = By.xpath("//a[text()='Next']");
+    private static final By PREVIOUS_BUTTON_ITEM = By.xpath("//a[text()='Previous']/parent::li");
+
+    public NavigationPage(WebDriver driver) {
+        super(driver);
+    }
+
+    /**
+     * Переход по "Next". Возвращает открывшуюся страницу - тест сверяет её с ожидаемой.
+     */
+    public Page clickNext() {
+        return clickLink(NEXT_BUTTON);
+    }
+
+    /**
+     * Переход по "Previous". Возвращает открывшуюся страницу - тест сверяет её с ожидаемой.
+     */
+    public Page clickPrevious() {
+        return clickLink(PREVIOUS_BUTTON);
+    }
+
+    public Page clickPage(int number) {
+        return clickLink(By.xpath("//a[text()='" + number + "']"));
+    }
+
+    private Page clickLink(By locator) {
+        WebElement link = element(locator);
+        Page target = Page.byHref(link.getDomAttribute("href"));
+        clickAndWaitForPage(link, target);
+        return target;
+    }
+
+    public boolean isPreviousDisabled() {
+        return element(PREVIOUS_BUTTON_ITEM).getDomAttribute("class").contains("disabled");
+    }
+}
@@ -0,0 +1,25 @@
+package ui.pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Страница web-form.html. Поля, к которым тест обращается несколько раз, ищутся один раз.
+ */
+public class WebFormPage extends BasePage {
+    private static final By DATE_INPUT = By.name("my-date");
+    private static final By RANGE_INPUT = By.name("my-range");
+
+    public WebFormPage(WebDriver driver) {
+        super(driver);
+    }
+
+    public WebElement dateInput() {
+        return element(DATE_INPUT);
+    }
+
+    public WebElement rangeInput() {
+        return element(RANGE_INPUT);
+    }
+}
@@ -0,0 +1,71 @@
+package ui.parallel;
+
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfiguration;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfigurationStrategy;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Стратегия параллельного запуска JUnit: число рабочих потоков зависит от числа ядер и свободной памяти,
+ * потому что каждый поток держит свой браузер.
+ * <p>
+ * Подключается в junit-platform.properties. Число потоков можно задать явно через parallel.workers,
+ * память на один браузер - через parallel.browserMemoryMb.
+ */
+public class ResourceAwareParallelStrategy implements ParallelExecutionConfigurationStrategy {
+    private static final int DEFAULT_BROWSER_MEMORY_MB = 512;
+    private static final int KEEP_ALIVE_SECONDS = 30;
+
+    @Override
+    public ParallelExecutionConfiguration createConfiguration(ConfigurationParameters configurationParameters) {
+        return new Configuration(workers());
+    }
+
+    public static boolean isParallelEnabled() {
+        return Boolean.getBoolean("junit.jupiter.execution.parallel.enabled");
+    }
+
+    /**
+     * Число рабочих потоков: не больше числа ядер и не больше числа браузеров, которые помещаются в свободную память.
+     */
+    public static int workers() {
+        Integer configured = Integer.getInteger("parallel.workers");
+        if (configured != null) {
+            return Math.max(1, configured);
+        }
+        int cpus = Runtime.getRuntime().availableProcessors();
+        long browserMemory = Integer.getInteger("parallel.browserMemoryMb", DEFAULT_BROWSER_MEMORY_MB) * 1024L * 1024L;
+        long freeMemory = ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean()).getFreeMemorySize();
+        int byMemory = (int) Math.min(Integer.MAX_VALUE, freeMemory / browserMemory);
+        return Math.max(1, Math.min(cpus, byMemory));
+    }
+
+    private record Configuration(int parallelism) implements ParallelExecutionConfiguration {
+        @Override
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        @Override
+        public int getMinimumRunnable() {
+            return parallelism;
+        }
+
+        @Override
+        public int getMaxPoolSize() {
+            // Запас потоков на случай, если рабочие потоки блокируются в ожидании сессии из пула
+            return parallelism + 256;
+        }
+
+        @Override
+        public int getCorePoolSize() {
+            return parallelism;
+        }
+
+        @Override
+        public int getKeepAliveSeconds() {
+            return KEEP_ALIVE_SECONDS;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package ui.reset;
+
+import org.junit.jupiter.api.TestInfo;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import ui.site.Page;
+
+import java.lang.reflect.Method;
+
+/**
+ * Подготовка страницы перед тестом без лишней загрузки через driver.get().
+ * <p>
+ * Перед запуском теста в окне страницы сохраняется отметка о том, какой сброс понадобится после него:
+ * никакой для {@link ReadOnly}, полная загрузка для {@link ReloadAfter}, сброс скриптом для остальных тестов.
+ * Перед следующим тестом один вызов executeScript проверяет адрес и отметку и при необходимости сбрасывает
+ * формы на месте. Страница загружается заново, только если адрес изменился (например, после отправки формы),
+ * отметка требует перезагрузки или это первый тест в сессии.
+ */
+public final class PageReset {
+    private static final String PREPARE_SCRIPT = """
+            var url = arguments[0], next = arguments[1];
+            if (location.href !== url || window.__pageReset === 'RELOAD') {
+                return 'NAVIGATE';
+            }
+            if (window.__pageReset === 'SCRIPT') {
+                if (document.activeElement && document.activeElement !== document.body) {
+                    document.activeElement.blur();
+                }
+                document.querySelectorAll('form').forEach(form => form.reset());
+                document.querySelectorAll('.dropdown-menu.show').forEach(menu => menu.classList.remove('show'));
+                document.querySelectorAll('[aria-expanded="true"]').forEach(toggle => toggle.setAttribute('aria-expanded', 'false'));
+                document.querySelectorAll('.datepicker-dropdown').forEach(picker => picker.style.display = 'none');
+                window.scrollTo(0, 0);
+            }
+            window.__pageReset = next;
+            return 'READY';
+            """;
+
+    private PageReset() {
+        throw new AssertionError("Cannot instantiate PageReset class");
+    }
+
+    /**
+     * Готовит страницу {@code page} к тесту {@code testInfo}. Загрузка - через {@link Page#open(WebDriver)}.
+     * Вызывается из @BeforeEach тестового класса для сессии, выданной {@link ui.driver.DriverPoolExtension}.
+     */
+    public static void prepare(WebDriver driver, Page page, TestInfo testInfo) {
+        String next = resetAfter(testInfo);
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        if ("NAVIGATE".equals(js.executeScript(PREPARE_SCRIPT, page.url(), next))) {
+            page.open(driver);
+            if (!"NONE".equals(next)) {
+                js.executeScript("window.__pageReset = arguments[0];", next);
+            }
+        }
+    }
+
+    private static String resetAfter(TestInfo testInfo) {
+        Method method = testInfo.getTestMethod().orElse(null);
+        if (method == null) {
+            return "RELOAD";
+        }
+        if (method.isAnnotationPresent(ReadOnly.class)) {
+            return "NONE";
+        }
+        return method.isAnnotationPresent(ReloadAfter.class) ? "RELOAD" : "SCRIPT";
+    }
+}
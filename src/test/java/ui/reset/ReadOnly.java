@@ -0,0 +1,15 @@
+package ui.reset;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Тест только читает страницу и не меняет её состояние: следующему тесту не нужно ни сбрасывать форму,
+ * ни загружать страницу заново. См. {@link PageReset}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReadOnly {
+}
@@ -0,0 +1,15 @@
+package ui.reset;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Тест меняет страницу так, что сбросить её скриптом нельзя (перетаскивает элементы, открывает меню
+ * собственными обработчиками страницы): следующий тест загрузит страницу заново. См. {@link PageReset}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReloadAfter {
+}
@@ -0,0 +1,23 @@
+package ui.schedule;
+
+import org.junit.jupiter.api.ClassDescriptor;
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.ClassOrdererContext;
+
+import java.util.Comparator;
+
+/**
+ * Порядок классов по длительности из прошлых прогонов: самые долгие первыми. Так при параллельном запуске
+ * долгий класс не остаётся на конец, когда остальные потоки уже простаивают.
+ * Классы без истории идут в самом начале - их длительность неизвестна, и после прогона она появится.
+ * Включается в junit-platform.properties (junit.jupiter.testclass.order.default).
+ */
+public class DurationClassOrderer implements ClassOrderer {
+
+    @Override
+    public void orderClasses(ClassOrdererContext context) {
+        TimingStore timings = TimingStore.shared();
+        context.getClassDescriptors().sort(Comparator.comparingLong((ClassDescriptor descriptor) ->
+                timings.classDuration(descriptor.getTestClass().getName()).orElse(Long.MAX_VALUE)).reversed());
+    }
+}
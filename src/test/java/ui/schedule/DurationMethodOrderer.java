@@ -0,0 +1,25 @@
+package ui.schedule;
+
+import org.junit.jupiter.api.MethodDescriptor;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.MethodOrdererContext;
+import org.junit.jupiter.api.Order;
+
+import java.util.Comparator;
+
+/**
+ * Порядок методов: сначала по {@link Order}, как {@link MethodOrderer.OrderAnnotation}, а среди методов
+ * с одинаковым порядком - самые долгие по прошлым прогонам первыми, методы без истории - в самом начале.
+ */
+public class DurationMethodOrderer implements MethodOrderer {
+
+    @Override
+    public void orderMethods(MethodOrdererContext context) {
+        TimingStore timings = TimingStore.shared();
+        String className = context.getTestClass().getName();
+        context.getMethodDescriptors().sort(Comparator
+                .comparingInt((MethodDescriptor descriptor) -> descriptor.findAnnotation(Order.class).map(Order::value).orElse(Order.DEFAULT))
+                .thenComparing(Comparator.comparingLong((MethodDescriptor descriptor) -> timings.duration(
+                        TimingStore.key(className, descriptor.getMethod().getName())).orElse(Long.MAX_VALUE)).reversed()));
+    }
+}
@@ -0,0 +1,124 @@
+package ui.schedule;
+
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Делит тестовые классы между N машинами или JVM так, чтобы суммарная длительность по прошлым прогонам
+ * была примерно одинаковой: классы от долгих к коротким отдаются наименее загруженной части.
+ * Делятся классы, а не методы: внутри класса тесты переиспользуют открытую страницу.
+ * <p>
+ * -Dshard.count=N -Dshard.index=I (с нуля) оставляет только классы части I; без shard.count фильтр ничего не делает.
+ * Разбиение одинаково на всех машинах, если у них один и тот же файл {@link TimingStore}
+ * (shard.timingsFile - читать длительности из неизменяемой копии файла, а не из того, куда пишет текущий прогон).
+ * Классы без истории считаются средними по длительности.
+ * <p>
+ * -Dshard.weights=2,2,1 - относительная ёмкость частей (например, число браузеров на узле):
+ * класс отдаётся части, которая с ним закончит раньше всех.
+ * Подключается через META-INF/services.
+ */
+public class ShardFilter implements PostDiscoveryFilter {
+    private final int count = Integer.getInteger("shard.count", 1);
+    private final int index = Integer.getInteger("shard.index", 0);
+    private final int[] weights;
+    private Map<String, Integer> assignment;
+
+    public ShardFilter() {
+        if (count < 1 || index < 0 || index >= count) {
+            throw new IllegalArgumentException("Invalid shard " + index + " of " + count);
+        }
+        String configured = System.getProperty("shard.weights");
+        weights = configured == null
+                ? IntStream.generate(() -> 1).limit(count).toArray()
+                : Arrays.stream(configured.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+        if (weights.length != count || Arrays.stream(weights).anyMatch(weight -> weight < 1)) {
+            throw new IllegalArgumentException("shard.weights must list " + count + " positive numbers: " + configured);
+        }
+    }
+
+    @Override
+    public FilterResult apply(TestDescriptor descriptor) {
+        if (count == 1 || !descriptor.isTest()) {
+            return FilterResult.included("Sharding is off or not a test");
+        }
+        Optional<String> testClass = outermostClass(descriptor);
+        if (testClass.isEmpty()) {
+            return FilterResult.included("No test class");
+        }
+        int shard = assignment(descriptor).getOrDefault(testClass.get(), index);
+        return shard == index
+                ? FilterResult.included("Shard " + index)
+                : FilterResult.excluded("Shard " + shard + " of " + count);
+    }
+
+    private synchronized Map<String, Integer> assignment(TestDescriptor descriptor) {
+        if (assignment == null) {
+            TestDescriptor root = descriptor;
+            while (root.getParent().isPresent()) {
+                root = root.getParent().get();
+            }
+            assignment = assign(root);
+        }
+        return assignment;
+    }
+
+    private Map<String, Integer> assign(TestDescriptor root) {
+        String snapshot = System.getProperty("shard.timingsFile");
+        TimingStore timings = snapshot == null ? TimingStore.shared() : new TimingStore(Path.of(snapshot));
+        List<String> classes = root.getDescendants().stream()
+                .filter(TestDescriptor::isTest)
+                .map(ShardFilter::outermostClass)
+                .flatMap(Optional::stream)
+                .distinct()
+                .collect(Collectors.toCollection(ArrayList::new));
+        long average = Math.round(classes.stream()
+                .mapToLong(name -> timings.classDuration(name).orElse(-1))
+                .filter(millis -> millis >= 0)
+                .average()
+                .orElse(1));
+        Map<String, Long> durations = new HashMap<>();
+        classes.forEach(name -> durations.put(name, timings.classDuration(name).orElse(average)));
+        classes.sort(Comparator.comparing(durations::get, Comparator.reverseOrder()).thenComparing(Comparator.naturalOrder()));
+
+        long[] load = new long[count];
+        Map<String, Integer> assignment = new LinkedHashMap<>();
+        for (String name : classes) {
+            long duration = durations.get(name);
+            int shard = 0;
+            for (int i = 1; i < count; i++) {
+                if ((double) (load[i] + duration) / weights[i] < (double) (load[shard] + duration) / weights[shard]) {
+                    shard = i;
+                }
+            }
+            load[shard] += duration;
+            assignment.put(name, shard);
+        }
+        return assignment;
+    }
+
+    private static Optional<String> outermostClass(TestDescriptor descriptor) {
+        String className = null;
+        for (Optional<TestDescriptor> current = Optional.of(descriptor); current.isPresent(); current = current.get().getParent()) {
+            Optional<TestSource> source = current.get().getSource();
+            if (source.isPresent() && source.get() instanceof ClassSource classSource) {
+                className = classSource.getClassName();
+            }
+        }
+        return Optional.ofNullable(className);
+    }
+}
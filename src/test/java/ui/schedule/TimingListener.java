@@ -0,0 +1,45 @@
+package ui.schedule;
+
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Замеряет длительность каждого теста и в конце прогона сохраняет её в {@link TimingStore}.
+ * Подключается через META-INF/services, поэтому работает для всех тестовых классов без аннотаций.
+ * Пропущенные и прерванные тесты не записываются: их время ничего не говорит о длительности.
+ */
+public class TimingListener implements TestExecutionListener {
+    private final Map<String, Long> started = new ConcurrentHashMap<>();
+
+    @Override
+    public void executionStarted(TestIdentifier testIdentifier) {
+        if (testIdentifier.isTest()) {
+            started.put(testIdentifier.getUniqueId(), System.nanoTime());
+        }
+    }
+
+    @Override
+    public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+        Long startedAt = started.remove(testIdentifier.getUniqueId());
+        if (startedAt == null || testExecutionResult.getStatus() == TestExecutionResult.Status.ABORTED) {
+            return;
+        }
+        testIdentifier.getSource()
+                .filter(MethodSource.class::isInstance)
+                .map(MethodSource.class::cast)
+                .ifPresent(source -> TimingStore.shared().record(TimingStore.key(source.getClassName(), source.getMethodName()),
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt)));
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        TimingStore.shared().save();
+    }
+}
@@ -0,0 +1,130 @@
+package ui.schedule;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Длительности тестов из прошлых прогонов: {@code <класс>#<метод>} - время в миллисекундах.
+ * <p>
+ * Хранится в файле timings.file (по умолчанию build/test-timings.properties). После прогона новое время
+ * смешивается с сохранённым (экспоненциальное среднее), чтобы одна случайная задержка не перестраивала порядок.
+ * Записывает {@link TimingListener}, читают {@link DurationClassOrderer}, {@link DurationMethodOrderer} и {@link ShardFilter}.
+ */
+public final class TimingStore {
+    // Вес последнего замера в среднем
+    private static final double WEIGHT = 0.5;
+    private static volatile TimingStore shared;
+
+    private final Path file;
+    private final Map<String, Long> durations;
+    private final Map<String, Long> classDurations = new ConcurrentHashMap<>();
+    private final Map<String, Long> measured = new ConcurrentHashMap<>();
+
+    TimingStore(Path file) {
+        this.file = file;
+        this.durations = new ConcurrentHashMap<>(read(file));
+        durations.forEach((key, millis) -> classDurations.merge(className(key), millis, Long::sum));
+    }
+
+    public static TimingStore shared() {
+        if (shared == null) {
+            synchronized (TimingStore.class) {
+                if (shared == null) {
+                    shared = new TimingStore(Path.of(System.getProperty("timings.file", "build/test-timings.properties")));
+                }
+            }
+        }
+        return shared;
+    }
+
+    public static String key(String className, String methodName) {
+        return className + "#" + methodName;
+    }
+
+    public OptionalLong duration(String key) {
+        Long millis = durations.get(key);
+        return millis == null ? OptionalLong.empty() : OptionalLong.of(millis);
+    }
+
+    /**
+     * Суммарная длительность всех известных тестов класса (включая вложенные классы).
+     */
+    public OptionalLong classDuration(String className) {
+        Long millis = classDurations.get(className);
+        return millis == null ? OptionalLong.empty() : OptionalLong.of(millis);
+    }
+
+    /**
+     * Добавляет замер текущего прогона. Повторы одного метода (параметризованные тесты) складываются.
+     */
+    public void record(String key, long millis) {
+        measured.merge(key, millis, Long::sum);
+    }
+
+    /**
+     * Смешивает замеры прогона с сохранёнными и записывает файл. Файл перечитывается перед записью,
+     * чтобы не потерять результаты параллельных JVM, а заменяется целиком, чтобы читатель не увидел его наполовину записанным.
+     */
+    public synchronized void save() {
+        if (measured.isEmpty()) {
+            return;
+        }
+        Map<String, Long> merged = new TreeMap<>(read(file));
+        measured.forEach((key, millis) -> merged.merge(key, millis,
+                (previous, current) -> Math.round(previous * (1 - WEIGHT) + current * WEIGHT)));
+        measured.clear();
+
+        Properties properties = new Properties();
+        merged.forEach((key, millis) -> properties.setProperty(key, Long.toString(millis)));
+        try {
+            Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, "test-timings", ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                properties.store(writer, "Test durations, ms");
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to save test timings to " + file, e);
+        }
+    }
+
+    private static Map<String, Long> read(Path file) {
+        Map<String, Long> durations = new TreeMap<>();
+        if (!Files.exists(file)) {
+            return durations;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read test timings from " + file, e);
+        }
+        properties.forEach((key, value) -> {
+            try {
+                durations.put((String) key, Long.parseLong((String) value));
+            } catch (NumberFormatException ignored) {
+                // Испорченная строка просто забывается и перезаписывается следующим прогоном
+            }
+        });
+        return durations;
+    }
+
+    private static String className(String key) {
+        String className = key.substring(0, key.indexOf('#'));
+        // Вложенные классы считаются вместе с внешним
+        int nested = className.indexOf('$');
+        return nested < 0 ? className : className.substring(0, nested);
+    }
+}
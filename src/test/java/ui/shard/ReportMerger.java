@@ -0,0 +1,96 @@
+package ui.shard;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Сливает XML-отчёты JUnit (формат Ant/Surefire) нескольких JVM в один документ {@code <testsuites>}
+ * с общими итогами. Каждый {@code <testsuite>} переносится как есть, к имени добавляется каталог части.
+ */
+final class ReportMerger {
+
+    private ReportMerger() {
+        throw new AssertionError("Cannot instantiate ReportMerger class");
+    }
+
+    record Totals(int tests, int failures, int errors, int skipped, double seconds) {
+        Totals plus(Element suite) {
+            return new Totals(tests + count(suite, "tests"), failures + count(suite, "failures"), errors + count(suite, "errors"),
+                    skipped + count(suite, "skipped"), seconds + ReportMerger.seconds(suite));
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%d tests, %d failures, %d errors, %d skipped, %.1f s of test time",
+                    tests, failures, errors, skipped, seconds);
+        }
+    }
+
+    static Totals merge(List<Path> reports, Path target) {
+        try {
+            DocumentBuilder builder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+            Document merged = builder.newDocument();
+            Element root = merged.createElement("testsuites");
+            merged.appendChild(root);
+
+            Totals totals = new Totals(0, 0, 0, 0, 0);
+            for (Path report : reports) {
+                Element document = builder.parse(report.toFile()).getDocumentElement();
+                NodeList suites = "testsuite".equals(document.getTagName()) ? null : document.getElementsByTagName("testsuite");
+                for (int i = 0; i < (suites == null ? 1 : suites.getLength()); i++) {
+                    Element suite = (Element) merged.importNode(suites == null ? document : suites.item(i), true);
+                    suite.setAttribute("name", suite.getAttribute("name") + " [" + report.getParent().getFileName() + "]");
+                    root.appendChild(suite);
+                    totals = totals.plus(suite);
+                }
+            }
+            root.setAttribute("tests", Integer.toString(totals.tests()));
+            root.setAttribute("failures", Integer.toString(totals.failures()));
+            root.setAttribute("errors", Integer.toString(totals.errors()));
+            root.setAttribute("skipped", Integer.toString(totals.skipped()));
+            root.setAttribute("time", String.format(Locale.ROOT, "%.3f", totals.seconds()));
+            write(merged, target);
+            return totals;
+        } catch (ParserConfigurationException | SAXException | TransformerException e) {
+            throw new IllegalStateException("Failed to merge test reports", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to merge test reports", e);
+        }
+    }
+
+    private static void write(Node document, Path target) throws IOException, TransformerException {
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        Transformer transformer = TransformerFactory.newInstance().newTransformer();
+        transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+        transformer.transform(new DOMSource(document), new StreamResult(target.toFile()));
+    }
+
+    private static int count(Element suite, String attribute) {
+        String value = suite.getAttribute(attribute);
+        return value.isEmpty() ? 0 : Integer.parseInt(value);
+    }
+
+    private static double seconds(Element suite) {
+        String value = suite.getAttribute("time");
+        return value.isEmpty() ? 0 : Double.parseDouble(value.replace(",", ""));
+    }
+}
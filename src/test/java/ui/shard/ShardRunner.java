@@ -0,0 +1,201 @@
+package ui.shard;
+
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.TagFilter;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+import org.junit.platform.reporting.legacy.xml.LegacyXmlReportGeneratingListener;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import ui.schedule.ShardFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectPackage;
+
+/**
+ * Запуск всего набора тестов на нескольких узлах браузера на одной машине, без сети.
+ * <p>
+ * Узел - это процесс chromedriver (запускается здесь же) или уже запущенный Selenium Grid / chromedriver
+ * (runner.remoteUrls=url1,url2). Ёмкость узла - сколько сессий он держит одновременно: runner.nodes=2,2,1
+ * (по умолчанию 2,2). Для каждого узла запускается отдельная JVM с тестами: её сессии создаются на этом узле
+ * (remote.url), пул и число потоков JUnit равны ёмкости узла, а классы ей выделяет {@link ShardFilter}
+ * по длительности из прошлых прогонов с учётом ёмкости (shard.weights).
+ * <p>
+ * Отчёты каждой JVM пишутся в runner.resultsDir/shard-N (по умолчанию build/test-results/shards),
+ * там же вывод JVM (output.log). После прогона они сливаются в один TEST-merged.xml.
+ * Код выхода не 0, если упал хотя бы один тест или JVM.
+ * <p>
+ * ./gradlew shardTest -Drunner.nodes=2,2,1
+ */
+public final class ShardRunner {
+    private static final String SHARD_MODE = "--shard";
+    // Настройки, которые передаются JVM с тестами как есть
+    private static final List<String> FORWARDED = List.of("standIn", "standIn.version", "headless", "blocking", "pageLoadStrategy",
+            "local", "pool.maxUses", "timings.file", "artifacts.dir", "wait.pageLoadSeconds", "webdriver.chrome.driver");
+
+    private final int[] capacities;
+    private final List<String> remoteUrls;
+    private final Path resultsDir;
+    private final long timeoutMinutes;
+
+    private ShardRunner(int[] capacities, List<String> remoteUrls, Path resultsDir, long timeoutMinutes) {
+        if (!remoteUrls.isEmpty() && remoteUrls.size() != capacities.length) {
+            throw new IllegalArgumentException("runner.remoteUrls must list one URL per node in runner.nodes");
+        }
+        this.capacities = capacities;
+        this.remoteUrls = remoteUrls;
+        this.resultsDir = resultsDir;
+        this.timeoutMinutes = timeoutMinutes;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 2 && SHARD_MODE.equals(args[0])) {
+            System.exit(runShard(Path.of(args[1])));
+        }
+        String remoteUrls = System.getProperty("runner.remoteUrls", "");
+        ShardRunner runner = new ShardRunner(
+                Arrays.stream(System.getProperty("runner.nodes", "2,2").split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray(),
+                remoteUrls.isBlank() ? List.of() : Arrays.stream(remoteUrls.split(",")).map(String::trim).toList(),
+                Path.of(System.getProperty("runner.resultsDir", "build/test-results/shards")),
+                Long.getLong("runner.timeoutMinutes", 60));
+        System.exit(runner.run());
+    }
+
+    private int run() throws IOException, InterruptedException {
+        List<ChromeDriverService> services = new ArrayList<>();
+        List<Process> processes = new ArrayList<>();
+        try {
+            List<String> nodeUrls = new ArrayList<>(remoteUrls);
+            if (nodeUrls.isEmpty()) {
+                for (int i = 0; i < capacities.length; i++) {
+                    ChromeDriverService service = new ChromeDriverService.Builder().usingAnyFreePort().build();
+                    services.add(service);
+                    service.start();
+                    nodeUrls.add(service.getUrl().toString());
+                }
+            }
+            Path timingsSnapshot = snapshotTimings();
+            for (int i = 0; i < capacities.length; i++) {
+                processes.add(startShard(i, nodeUrls.get(i), timingsSnapshot));
+                System.out.printf("[runner] shard %d: %s, %d session(s)%n", i, nodeUrls.get(i), capacities[i]);
+            }
+
+            boolean allExited = true;
+            long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(timeoutMinutes);
+            for (int i = 0; i < processes.size(); i++) {
+                Process process = processes.get(i);
+                if (!process.waitFor(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    System.out.printf("[runner] shard %d timed out after %d min, see %s%n", i, timeoutMinutes, shardDir(i).resolve("output.log"));
+                    process.destroyForcibly().waitFor();
+                    allExited = false;
+                } else if (process.exitValue() != 0) {
+                    System.out.printf("[runner] shard %d exited with %d, see %s%n", i, process.exitValue(), shardDir(i).resolve("output.log"));
+                    allExited = false;
+                }
+            }
+
+            ReportMerger.Totals totals = ReportMerger.merge(reports(), resultsDir.resolve("TEST-merged.xml"));
+            System.out.printf("[runner] %d nodes: %s -> %s%n", capacities.length, totals, resultsDir.resolve("TEST-merged.xml"));
+            return allExited && totals.failures() == 0 && totals.errors() == 0 ? 0 : 1;
+        } finally {
+            processes.forEach(Process::destroyForcibly);
+            services.forEach(ChromeDriverService::stop);
+        }
+    }
+
+    private Process startShard(int index, String nodeUrl, Path timingsSnapshot) throws IOException {
+        Path dir = shardDir(index);
+        Files.createDirectories(dir);
+        try (var files = Files.list(dir)) {
+            for (Path file : files.filter(path -> path.getFileName().toString().endsWith(".xml")).toList()) {
+                Files.delete(file);
+            }
+        }
+        int capacity = capacities[index];
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"),
+                "-Dremote.url=" + nodeUrl,
+                "-Dshard.count=" + capacities.length,
+                "-Dshard.index=" + index,
+                "-Dshard.weights=" + Arrays.stream(capacities).mapToObj(String::valueOf).collect(Collectors.joining(",")),
+                "-Dshard.timingsFile=" + timingsSnapshot.toAbsolutePath(),
+                "-Dpool.size=" + capacity,
+                "-Dparallel.workers=" + capacity,
+                "-Djunit.jupiter.execution.parallel.enabled=" + (capacity > 1)));
+        FORWARDED.stream()
+                .filter(name -> System.getProperty(name) != null)
+                .forEach(name -> command.add("-D" + name + "=" + System.getProperty(name)));
+        command.addAll(List.of(ShardRunner.class.getName(), SHARD_MODE, dir.toAbsolutePath().toString()));
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(dir.resolve("output.log").toFile())
+                .start();
+    }
+
+    /**
+     * Все JVM должны разбить классы одинаково, а файл длительностей может измениться, пока они запускаются:
+     * первая закончившая JVM сохранит в него свои замеры. Поэтому разбиение считается по копии.
+     */
+    private Path snapshotTimings() throws IOException {
+        Files.createDirectories(resultsDir);
+        Path snapshot = resultsDir.resolve("timings-snapshot.properties");
+        Path timings = Path.of(System.getProperty("timings.file", "build/test-timings.properties"));
+        if (Files.exists(timings)) {
+            Files.copy(timings, snapshot, StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.deleteIfExists(snapshot);
+        }
+        return snapshot;
+    }
+
+    private List<Path> reports() {
+        List<Path> reports = new ArrayList<>();
+        for (int i = 0; i < capacities.length; i++) {
+            try (var files = Files.list(shardDir(i))) {
+                files.filter(path -> path.getFileName().toString().matches("TEST-.*\\.xml")).sorted().forEach(reports::add);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to list reports of shard " + i, e);
+            }
+        }
+        return reports;
+    }
+
+    private Path shardDir(int index) {
+        return resultsDir.resolve("shard-" + index);
+    }
+
+    /**
+     * Запуск в JVM одного узла: все тесты пакета ui, из которых {@link ShardFilter} оставляет классы этой части.
+     * Воспроизведение трасс (тег trace-smoke) и замер загрузки больших файлов (upload-throughput) - отдельные
+     * уровни проверок, сюда они не входят.
+     */
+    private static int runShard(Path reportsDir) {
+        LauncherDiscoveryRequest request = LauncherDiscoveryRequestBuilder.request()
+                .selectors(selectPackage("ui"))
+                .filters(TagFilter.excludeTags("trace-smoke", "upload-throughput"))
+                .build();
+        PrintWriter out = new PrintWriter(System.out, true);
+        SummaryGeneratingListener summary = new SummaryGeneratingListener();
+        Launcher launcher = LauncherFactory.create();
+        launcher.execute(request, summary, new LegacyXmlReportGeneratingListener(reportsDir, out));
+
+        TestExecutionSummary result = summary.getSummary();
+        result.printTo(out);
+        result.printFailuresTo(out, 20);
+        return result.getTotalFailureCount() == 0 ? 0 : 1;
+    }
+}
@@ -0,0 +1,147 @@
+package ui.site;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Потоковый разбор тела multipart/form-data. Содержимое части не накапливается: оно передаётся в {@link PartSink}
+ * кусками по мере чтения, в памяти - только буфер фиксированного размера. Поэтому размер загружаемого файла
+ * не ограничен памятью.
+ */
+final class MultipartStream {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final InputStream in;
+    private final byte[] delimiter;
+    private final byte[] buffer;
+    private int start;
+    private int end;
+
+    /**
+     * Первый разделитель тела идёт без предшествующего CRLF; чтобы искать все разделители одинаково,
+     * перед телом добавляется CRLF.
+     */
+    MultipartStream(InputStream body, String boundary) {
+        this.in = new SequenceInputStream(new ByteArrayInputStream(new byte[]{'\r', '\n'}), body);
+        this.delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+        this.buffer = new byte[BUFFER_SIZE + delimiter.length];
+    }
+
+    /**
+     * Читает все части тела. {@code sinks} выбирает приёмник для части по её заголовкам.
+     */
+    void readParts(SinkFactory sinks) throws IOException {
+        skipTo(null);
+        while (true) {
+            ensure(2);
+            if (buffer[start] == '-' && buffer[start + 1] == '-') {
+                return;
+            }
+            readLine();
+            Map<String, String> headers = new LinkedHashMap<>();
+            for (String line = readLine(); !line.isEmpty(); line = readLine()) {
+                int colon = line.indexOf(':');
+                if (colon > 0) {
+                    headers.put(line.substring(0, colon).trim().toLowerCase(Locale.ROOT), line.substring(colon + 1).trim());
+                }
+            }
+            PartSink sink = sinks.open(headers);
+            skipTo(sink);
+            sink.close();
+        }
+    }
+
+    /**
+     * Передаёт всё до следующего разделителя в {@code sink} (null - пропустить) и встаёт после разделителя.
+     */
+    private void skipTo(PartSink sink) throws IOException {
+        while (true) {
+            int index = indexOfDelimiter();
+            if (index >= 0) {
+                if (sink != null) {
+                    sink.write(buffer, start, index - start);
+                }
+                start = index + delimiter.length;
+                return;
+            }
+            // Хвост короче разделителя может оказаться его началом - оставляем его в буфере
+            int safe = end - (delimiter.length - 1);
+            if (safe > start) {
+                if (sink != null) {
+                    sink.write(buffer, start, safe - start);
+                }
+                start = safe;
+            }
+            fill();
+        }
+    }
+
+    private int indexOfDelimiter() {
+        outer:
+        for (int i = start; i <= end - delimiter.length; i++) {
+            for (int j = 0; j < delimiter.length; j++) {
+                if (buffer[i + j] != delimiter[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private String readLine() throws IOException {
+        while (true) {
+            for (int i = start; i < end - 1; i++) {
+                if (buffer[i] == '\r' && buffer[i + 1] == '\n') {
+                    String line = new String(buffer, start, i - start, StandardCharsets.UTF_8);
+                    start = i + 2;
+                    return line;
+                }
+            }
+            if (end - start >= BUFFER_SIZE) {
+                throw new IOException("Multipart header line is too long");
+            }
+            fill();
+        }
+    }
+
+    private void ensure(int bytes) throws IOException {
+        while (end - start < bytes) {
+            fill();
+        }
+    }
+
+    /**
+     * Сдвигает непрочитанное в начало буфера и дочитывает поток.
+     */
+    private void fill() throws IOException {
+        if (start > 0) {
+            System.arraycopy(buffer, start, buffer, 0, end - start);
+            end -= start;
+            start = 0;
+        }
+        int read = in.read(buffer, end, buffer.length - end);
+        if (read < 0) {
+            throw new EOFException("Multipart body ended before the closing boundary");
+        }
+        end += read;
+    }
+
+    interface SinkFactory {
+        PartSink open(Map<String, String> headers) throws IOException;
+    }
+
+    interface PartSink {
+        void write(byte[] bytes, int offset, int length) throws IOException;
+
+        default void close() throws IOException {
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package ui.site;
+
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import ui.wait.Condition;
+import ui.wait.Wait;
+
+/**
+ * Страницы сайта: адрес, стратегия загрузки и признак готовности к тесту.
+ * <p>
+ * Сессии создаются со стандартной pageLoadStrategy=normal (см. DriverFactory), и обычные переходы ждут загрузки.
+ * {@link #open(WebDriver)} переходит на страницу скриптом, который браузер не ждёт, и ждёт ровно того,
+ * что нужно странице. {@link LoadStrategy#NORMAL} - события load,
+ * {@link LoadStrategy#EAGER} - окончания DOMContentLoaded (скрипты страницы выполнены, картинки и шрифты
+ * ещё могут грузиться), {@link LoadStrategy#NONE} - только признака готовности самой страницы.
+ */
+public enum Page {
+    HOME("", LoadStrategy.EAGER, "document.querySelector('h5.card-title') !== null"),
+    // Форма и скрипты календаря: парсер дошёл до конца страницы
+    WEB_FORM("web-form.html", LoadStrategy.EAGER, "document.querySelector('form button[type=\"submit\"]') !== null"),
+    NAVIGATION1("navigation1.html", LoadStrategy.NONE, Probes.navigation("navigation1.html")),
+    NAVIGATION2("navigation2.html", LoadStrategy.NONE, Probes.navigation("navigation2.html")),
+    NAVIGATION3("navigation3.html", LoadStrategy.NONE, Probes.navigation("navigation3.html")),
+    DROPDOWN_MENU("dropdown-menu.html", LoadStrategy.EAGER, "document.querySelector('.dropdown-toggle') !== null"),
+    // Скрипт перетаскивания подключается в конце body: readyState != loading означает, что он выполнен
+    DRAG_AND_DROP("drag-and-drop.html", LoadStrategy.NONE,
+            "document.readyState !== 'loading' && document.getElementById('draggable') !== null");
+
+    private static final String OPENING_MARKER = "window.__pageOpening = true;";
+
+    private final String path;
+    private final LoadStrategy strategy;
+    private final String probe;
+
+    Page(String path, LoadStrategy strategy, String probe) {
+        this.path = path;
+        this.strategy = strategy;
+        this.probe = probe;
+    }
+
+    public String url() {
+        return Site.url(path);
+    }
+
+    public LoadStrategy strategy() {
+        return strategy;
+    }
+
+    /**
+     * Страница по относительному адресу ссылки, например {@code navigation2.html} или {@code ./navigation2.html}.
+     */
+    public static Page byHref(String href) {
+        String path = href.startsWith("./") ? href.substring(2) : href;
+        for (Page page : values()) {
+            if (page.path.equals(path)) {
+                return page;
+            }
+        }
+        throw new IllegalArgumentException("Unknown page: " + href);
+    }
+
+    /**
+     * Открывает страницу и ждёт её готовности. Старый документ помечается перед переходом,
+     * поэтому проверка готовности не сработает на нём, пока новый документ ещё не создан.
+     * Для {@link LoadStrategy#NORMAL} переход обычный, для остальных - через location.assign():
+     * команда возвращается сразу, не дожидаясь load, а готовность проверяет {@link #ready()}.
+     */
+    public void open(WebDriver driver) {
+        if (strategy == LoadStrategy.NORMAL) {
+            ((JavascriptExecutor) driver).executeScript(OPENING_MARKER);
+            driver.get(url());
+        } else {
+            ((JavascriptExecutor) driver).executeScript(OPENING_MARKER + " window.location.assign(arguments[0]);", url());
+        }
+        Wait.until(driver, ready(), Wait.PAGE_LOAD_TIMEOUT);
+    }
+
+    /**
+     * Текущий документ - эта страница (или страница того же вида) и готов к тесту.
+     */
+    public Condition<Boolean> ready() {
+        String script = "return window.__pageOpening === undefined && (" + strategy.expression + ") && (" + probe + ");";
+        return Condition.named(name() + " to be ready (" + strategy + ")", driver -> {
+            try {
+                return Boolean.TRUE.equals(((JavascriptExecutor) driver).executeScript(script));
+            } catch (JavascriptException e) {
+                // Контекст выполнения уничтожен: документ сменяется прямо сейчас
+                return false;
+            }
+        });
+    }
+
+    public enum LoadStrategy {
+        NORMAL("document.readyState === 'complete'"),
+        EAGER("(function () { var nav = performance.getEntriesByType('navigation')[0];"
+                + " return nav ? nav.domContentLoadedEventEnd > 0 : document.readyState !== 'loading'; })()"),
+        NONE("true");
+
+        private final String expression;
+
+        LoadStrategy(String expression) {
+            this.expression = expression;
+        }
+    }
+
+    private static final class Probes {
+        /**
+         * Открыта именно эта страница пагинации, и парсер дошёл до ссылки "Return to index" после текста и пагинации.
+         */
+        static String navigation(String path) {
+            return "location.pathname.endsWith('/" + path + "') && document.querySelector('a[href=\"./index.html\"]') !== null";
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package ui.site;
+
+/**
+ * Адреса тестируемых страниц. По умолчанию это bonigarcia.dev, а с -DstandIn=true -
+ * встроенный {@link StandInServer} с локальными копиями страниц (версия копий задаётся standIn.version).
+ */
+public final class Site {
+    public static final String REMOTE_BASE_URL = "https://bonigarcia.dev/selenium-webdriver-java/";
+    private static final String DEFAULT_VERSION = "2025.02";
+    private static StandInServer server;
+
+    private Site() {
+        throw new AssertionError("Cannot instantiate Site class");
+    }
+
+    public static boolean isStandIn() {
+        return Boolean.getBoolean("standIn");
+    }
+
+    public static String baseUrl() {
+        return isStandIn() ? standInServer().baseUrl() : REMOTE_BASE_URL;
+    }
+
+    public static String url(String page) {
+        return baseUrl() + page;
+    }
+
+    /**
+     * Сервер запускается при первом обращении и останавливается вместе с JVM.
+     */
+    public static synchronized StandInServer standInServer() {
+        if (server == null) {
+            server = StandInServer.start(System.getProperty("standIn.version", DEFAULT_VERSION));
+            Runtime.getRuntime().addShutdownHook(new Thread(server::close, "stand-in-server-shutdown"));
+        }
+        return server;
+    }
+}
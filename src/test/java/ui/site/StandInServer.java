@@ -0,0 +1,138 @@
+package ui.site;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Встроенный HTTP сервер, который отдаёт локальные копии страниц bonigarcia.dev/selenium-webdriver-java/
+ * из ресурсов site/&lt;version&gt;/. Страницы читаются в память один раз и дальше отдаются без обращения к диску.
+ * <p>
+ * Для страниц, на которые ссылается index.html, но у которых нет локальной копии (список в placeholders.txt),
+ * отдаётся placeholder.html.
+ * <p>
+ * POST на /upload принимает файлы формы ({@link UploadReceiver}): размер и хэш считаются без сохранения файла.
+ */
+public final class StandInServer implements AutoCloseable {
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "html", "text/html; charset=utf-8",
+            "css", "text/css; charset=utf-8",
+            "js", "text/javascript; charset=utf-8",
+            "txt", "text/plain; charset=utf-8");
+
+    private final String resourceRoot;
+    private final Set<String> placeholders;
+    private final Map<String, Optional<byte[]>> cache = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+    private final HttpServer server;
+    private final UploadReceiver uploads = new UploadReceiver();
+
+    private StandInServer(String version) throws IOException {
+        this.resourceRoot = "site/" + version + "/";
+        this.placeholders = readResource("placeholders.txt")
+                .map(bytes -> new String(bytes, StandardCharsets.UTF_8).lines()
+                        .map(String::trim)
+                        .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                        .collect(Collectors.toUnmodifiableSet()))
+                .orElse(Set.of());
+        if (readResource("index.html").isEmpty()) {
+            throw new IllegalArgumentException("No stand-in site found for version " + version);
+        }
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "stand-in-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::handle);
+        server.createContext("/upload", uploads);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public static StandInServer start(String version) {
+        try {
+            return new StandInServer(version);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start stand-in server", e);
+        }
+    }
+
+    /**
+     * Адрес корня сайта, например http://127.0.0.1:54321/
+     */
+    public String baseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/";
+    }
+
+    /**
+     * Адрес приёмника загрузки: форма, отправленная на него, передаёт файлы под этим {@code id}.
+     */
+    public String uploadUrl(String id) {
+        return baseUrl() + "upload?id=" + id;
+    }
+
+    public UploadReceiver uploads() {
+        return uploads;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath().substring(1);
+            if (path.isEmpty()) {
+                path = "index.html";
+            }
+            Optional<byte[]> body = path.contains("..") ? Optional.empty() : page(path);
+            if (body.isEmpty()) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            String extension = path.substring(path.lastIndexOf('.') + 1);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPES.getOrDefault(extension, "application/octet-stream"));
+            exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.get().length);
+            exchange.getResponseBody().write(body.get());
+        }
+    }
+
+    private Optional<byte[]> page(String path) {
+        if (placeholders.contains(path)) {
+            return cache.computeIfAbsent(path, key -> readResource("placeholder.html")
+                    .map(template -> new String(template, StandardCharsets.UTF_8)
+                            .replace("{{page}}", key)
+                            .getBytes(StandardCharsets.UTF_8)));
+        }
+        return cache.computeIfAbsent(path, this::readResource);
+    }
+
+    private Optional<byte[]> readResource(String path) {
+        try (InputStream in = StandInServer.class.getClassLoader().getResourceAsStream(resourceRoot + path)) {
+            return in == null ? Optional.empty() : Optional.of(in.readAllBytes());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
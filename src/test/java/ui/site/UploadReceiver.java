@@ -0,0 +1,186 @@
+package ui.site;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Приёмник загрузки файлов на {@link StandInServer}: POST multipart/form-data на /upload?id=...
+ * <p>
+ * Файлы не сохраняются: тело читается потоково ({@link MultipartStream}), для каждой части с файлом считаются
+ * размер и SHA-256. Результат доступен тесту через {@link #await(String, Duration)}, а браузеру возвращается
+ * страница "Form submitted" с размером и хэшем.
+ */
+public final class UploadReceiver implements HttpHandler {
+    private static final Pattern BOUNDARY = Pattern.compile("boundary=\"?([^\";]+)\"?");
+    private static final Pattern DISPOSITION_PARAMETER = Pattern.compile("(name|filename)=\"([^\"]*)\"");
+    private static final String RESPONSE = """
+            <!doctype html>
+            <html lang="en">
+            <head>
+              <meta charset="utf-8">
+              <title>Hands-On Selenium WebDriver with Java</title>
+            </head>
+            <body>
+            <h1 class="display-6">Form submitted</h1>
+            <p class="lead">Received!</p>
+            <dl>
+            %s</dl>
+            </body>
+            </html>
+            """;
+
+    private final Map<String, CompletableFuture<List<Upload>>> uploads = new ConcurrentHashMap<>();
+
+    /**
+     * Файл из части multipart-запроса.
+     */
+    public record Upload(String field, String fileName, long size, String sha256, Duration elapsed) {
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+            Matcher boundary = BOUNDARY.matcher(contentType == null ? "" : contentType);
+            if (!boundary.find()) {
+                exchange.sendResponseHeaders(415, -1);
+                return;
+            }
+            CompletableFuture<List<Upload>> result = pending(id(exchange));
+            List<Upload> files = new ArrayList<>();
+            long started = System.nanoTime();
+            try {
+                new MultipartStream(exchange.getRequestBody(), boundary.group(1)).readParts(headers -> part(headers, started, files));
+            } catch (IOException | RuntimeException e) {
+                result.completeExceptionally(e);
+                throw e;
+            }
+            result.complete(List.copyOf(files));
+
+            StringBuilder rows = new StringBuilder();
+            for (Upload file : files) {
+                rows.append(String.format("<dt>%s</dt><dd class=\"upload-size\">%d</dd><dd class=\"upload-sha256\">%s</dd>%n",
+                        escape(file.fileName()), file.size(), file.sha256()));
+            }
+            byte[] body = String.format(RESPONSE, rows).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        }
+    }
+
+    /**
+     * Файлы, полученные запросом с этим id. Ждёт, пока запрос не будет прочитан до конца.
+     */
+    public List<Upload> await(String id, Duration timeout) {
+        try {
+            return pending(id).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for upload " + id, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Upload " + id + " failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Upload " + id + " was not received within " + timeout, e);
+        } finally {
+            uploads.remove(id);
+        }
+    }
+
+    private CompletableFuture<List<Upload>> pending(String id) {
+        return uploads.computeIfAbsent(id, key -> new CompletableFuture<>());
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    private static String id(HttpExchange exchange) {
+        String query = exchange.getRequestURI().getQuery();
+        if (query != null) {
+            for (String parameter : query.split("&")) {
+                if (parameter.startsWith("id=")) {
+                    return parameter.substring(3);
+                }
+            }
+        }
+        return "";
+    }
+
+    /**
+     * Приёмник части: для файла - счётчик и SHA-256, остальные поля формы пропускаются.
+     */
+    private static MultipartStream.PartSink part(Map<String, String> headers, long started, List<Upload> files) {
+        String field = null;
+        String fileName = null;
+        Matcher parameter = DISPOSITION_PARAMETER.matcher(headers.getOrDefault("content-disposition", ""));
+        while (parameter.find()) {
+            if ("name".equals(parameter.group(1))) {
+                field = parameter.group(2);
+            } else {
+                fileName = parameter.group(2);
+            }
+        }
+        if (fileName == null) {
+            return (bytes, offset, length) -> {
+            };
+        }
+        return new FileSink(field, fileName, started, files);
+    }
+
+    private static final class FileSink implements MultipartStream.PartSink {
+        private final String field;
+        private final String fileName;
+        private final long started;
+        private final List<Upload> files;
+        private final MessageDigest digest = sha256();
+        private long size;
+
+        private FileSink(String field, String fileName, long started, List<Upload> files) {
+            this.field = field;
+            this.fileName = fileName;
+            this.started = started;
+            this.files = files;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            digest.update(bytes, offset, length);
+            size += length;
+        }
+
+        @Override
+        public void close() {
+            files.add(new Upload(field, fileName, size, HexFormat.of().formatHex(digest.digest()), Duration.ofNanos(System.nanoTime() - started)));
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
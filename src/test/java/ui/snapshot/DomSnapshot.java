@@ -0,0 +1,172 @@
+package ui.snapshot;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Снимок состояния набора элементов, собранный одним вызовом executeScript вместо отдельной команды
+ * WebDriver на каждое свойство (findElement, getText, getDomProperty, isSelected, ...).
+ * <p>
+ * Снимок неизменяемый: проверки выполняются по уже собранным данным без обращений к браузеру.
+ * Атрибуты возвращаются так же, как {@code WebElement.getDomAttribute()}: у булевых атрибутов значение "true".
+ * Поддерживаются локаторы, которые Selenium передаёт драйверу как css selector, xpath, tag name или link text
+ * (By.id, By.name, By.className, By.cssSelector, By.xpath, By.tagName, By.linkText, By.partialLinkText).
+ */
+public final class DomSnapshot {
+    private static final String SCRIPT = """
+            var scope = arguments[0] || document;
+            var BOOLEAN_ATTRIBUTES = ['allowfullscreen', 'async', 'autofocus', 'autoplay', 'checked', 'controls', 'default',
+                'defer', 'disabled', 'formnovalidate', 'hidden', 'ismap', 'itemscope', 'loop', 'multiple', 'muted', 'nomodule',
+                'novalidate', 'open', 'playsinline', 'readonly', 'required', 'reversed', 'selected'];
+            function find(query) {
+                switch (query.using) {
+                    case 'css selector':
+                        return Array.from(scope.querySelectorAll(query.value));
+                    case 'xpath':
+                        var found = document.evaluate(query.value, scope, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);
+                        var nodes = [];
+                        for (var i = 0; i < found.snapshotLength; i++) {
+                            nodes.push(found.snapshotItem(i));
+                        }
+                        return nodes;
+                    case 'tag name':
+                        return Array.from(scope.getElementsByTagName(query.value));
+                    case 'link text':
+                        return Array.from(scope.querySelectorAll('a')).filter(a => a.innerText.trim() === query.value);
+                    case 'partial link text':
+                        return Array.from(scope.querySelectorAll('a')).filter(a => a.innerText.includes(query.value));
+                    default:
+                        throw new Error('Unsupported locator strategy: ' + query.using);
+                }
+            }
+            function displayed(element) {
+                if (element.tagName === 'OPTION') {
+                    var select = element.closest('select');
+                    return select ? displayed(select) : false;
+                }
+                var style = getComputedStyle(element);
+                return element.getClientRects().length > 0 && style.visibility !== 'hidden'
+                    && style.visibility !== 'collapse' && parseFloat(style.opacity) !== 0;
+            }
+            function state(element) {
+                var rect = element.getBoundingClientRect();
+                var attributes = {};
+                for (var attribute of element.attributes) {
+                    attributes[attribute.name] = BOOLEAN_ATTRIBUTES.includes(attribute.name) ? 'true' : attribute.value;
+                }
+                var isDisplayed = displayed(element);
+                return {
+                    tagName: element.tagName.toLowerCase(),
+                    text: isDisplayed ? (element.innerText || '').replace(/\\u00a0/g, ' ').trim() : '',
+                    value: 'value' in element ? String(element.value) : null,
+                    attributes: attributes,
+                    selected: !!(element.checked || element.selected),
+                    enabled: !element.disabled,
+                    displayed: isDisplayed,
+                    x: Math.trunc(rect.left + window.scrollX),
+                    y: Math.trunc(rect.top + window.scrollY)
+                };
+            }
+            return {
+                title: document.title,
+                url: location.href,
+                elements: arguments[1].map(query => find(query).map(state))
+            };
+            """;
+
+    private final String title;
+    private final String url;
+    private final Map<By, List<ElementState>> elements;
+
+    private DomSnapshot(String title, String url, Map<By, List<ElementState>> elements) {
+        this.title = title;
+        this.url = url;
+        this.elements = elements;
+    }
+
+    public static DomSnapshot take(WebDriver driver, By... locators) {
+        return take(driver, null, locators);
+    }
+
+    /**
+     * Снимок элементов внутри {@code scope}: относительные XPath (./...) и CSS ищутся от этого элемента.
+     */
+    @SuppressWarnings("unchecked")
+    public static DomSnapshot take(WebDriver driver, WebElement scope, By... locators) {
+        List<Map<String, String>> queries = Arrays.stream(locators).map(DomSnapshot::toQuery).toList();
+        Map<String, Object> result = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(SCRIPT, scope, queries);
+
+        List<List<Map<String, Object>>> found = (List<List<Map<String, Object>>>) result.get("elements");
+        Map<By, List<ElementState>> elements = new LinkedHashMap<>();
+        for (int i = 0; i < locators.length; i++) {
+            elements.put(locators[i], found.get(i).stream().map(DomSnapshot::toState).toList());
+        }
+        return new DomSnapshot((String) result.get("title"), (String) result.get("url"), Map.copyOf(elements));
+    }
+
+    public String title() {
+        return title;
+    }
+
+    public String url() {
+        return url;
+    }
+
+    /**
+     * Первый элемент по локатору - как driver.findElement().
+     */
+    public ElementState get(By locator) {
+        List<ElementState> states = all(locator);
+        if (states.isEmpty()) {
+            throw new NoSuchElementException("No element in snapshot for " + locator);
+        }
+        return states.get(0);
+    }
+
+    /**
+     * Все элементы по локатору - как driver.findElements().
+     */
+    public List<ElementState> all(By locator) {
+        List<ElementState> states = elements.get(locator);
+        if (states == null) {
+            throw new IllegalArgumentException("Locator was not part of the snapshot: " + locator);
+        }
+        return states;
+    }
+
+    public List<String> texts(By locator) {
+        return all(locator).stream().map(ElementState::text).toList();
+    }
+
+    private static Map<String, String> toQuery(By locator) {
+        if (!(locator instanceof By.Remotable remotable)) {
+            throw new IllegalArgumentException("Locator can't be evaluated in a script: " + locator);
+        }
+        By.Remotable.Parameters parameters = remotable.getRemoteParameters();
+        return Map.of("using", parameters.using(), "value", String.valueOf(parameters.value()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ElementState toState(Map<String, Object> raw) {
+        Map<String, String> attributes = new LinkedHashMap<>();
+        ((Map<String, Object>) raw.get("attributes")).forEach((name, value) -> attributes.put(name, String.valueOf(value)));
+        return new ElementState(
+                (String) raw.get("tagName"),
+                (String) raw.get("text"),
+                (String) raw.get("value"),
+                attributes,
+                Boolean.TRUE.equals(raw.get("selected")),
+                Boolean.TRUE.equals(raw.get("enabled")),
+                Boolean.TRUE.equals(raw.get("displayed")),
+                new Point(((Number) raw.get("x")).intValue(), ((Number) raw.get("y")).intValue()));
+    }
+}
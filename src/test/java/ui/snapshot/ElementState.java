@@ -0,0 +1,35 @@
+package ui.snapshot;
+
+import org.openqa.selenium.Point;
+
+import java.util.Map;
+
+/**
+ * Состояние одного элемента на момент снимка {@link DomSnapshot}.
+ * Текст совпадает с тем, что вернул бы {@code WebElement.getText()}: для невидимых элементов - пустая строка.
+ *
+ * @param value DOM-свойство value или null, если у элемента его нет
+ */
+public record ElementState(String tagName,
+                           String text,
+                           String value,
+                           Map<String, String> attributes,
+                           boolean selected,
+                           boolean enabled,
+                           boolean displayed,
+                           Point location) {
+    public ElementState {
+        attributes = Map.copyOf(attributes);
+    }
+
+    /**
+     * Значение HTML атрибута или null, если атрибута нет.
+     */
+    public String attribute(String name) {
+        return attributes.get(name);
+    }
+
+    public boolean hasAttribute(String name) {
+        return attributes.containsKey(name);
+    }
+}
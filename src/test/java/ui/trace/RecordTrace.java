@@ -0,0 +1,15 @@
+package ui.trace;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * С -Dtrace.record=true команды WebDriver этого теста записываются в трассу, если тест прошёл.
+ * Трассы воспроизводит {@link ui.TraceReplayTests}. См. {@link TraceExtension}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RecordTrace {
+}
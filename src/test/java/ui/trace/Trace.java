@@ -0,0 +1,148 @@
+package ui.trace;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Записанная последовательность команд WebDriver одного теста ({@link TraceRecorder}) и её бинарный формат.
+ * <p>
+ * Файл .wdtrace - gzip от: "WDT1", адрес сайта и страница, с которой начался тест, таблица строк
+ * (пути, тела запросов и ответов сильно повторяются и хранятся один раз) и записи команд, где строки заданы
+ * номерами в таблице, а числа - в формате varint.
+ */
+public record Trace(String baseUrl, String startUrl, List<TraceEntry> entries) {
+    private static final int MAGIC = 0x57445431; // "WDT1"
+
+    public long elapsedMicros() {
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        TraceEntry last = entries.get(entries.size() - 1);
+        return last.startMicros() + last.wireMicros();
+    }
+
+    public long wireMicros() {
+        return entries.stream().mapToLong(TraceEntry::wireMicros).sum();
+    }
+
+    public long serverMicros() {
+        return entries.stream().mapToLong(TraceEntry::serverMicros).sum();
+    }
+
+    /**
+     * Сколько времени теста заняли команды браузера, а сколько - сам тест (код теста, ожидания между опросами).
+     */
+    public String summary() {
+        double elapsed = elapsedMicros() / 1000.0;
+        double wire = wireMicros() / 1000.0;
+        return String.format(Locale.ROOT, "%d commands in %.1f ms: chromedriver %.1f ms, wire %.1f ms, test side %.1f ms (%.0f%%)",
+                entries.size(), elapsed, serverMicros() / 1000.0, wire, elapsed - wire, elapsed == 0 ? 0 : (elapsed - wire) * 100 / elapsed);
+    }
+
+    public void write(Path file) {
+        Map<String, Integer> index = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        for (TraceEntry entry : entries) {
+            for (String value : List.of(entry.method(), entry.path(), entry.requestBody(), entry.responseBody())) {
+                index.computeIfAbsent(value, key -> {
+                    strings.add(key);
+                    return strings.size() - 1;
+                });
+            }
+        }
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(file))))) {
+                out.writeInt(MAGIC);
+                writeString(out, baseUrl);
+                writeString(out, startUrl);
+                writeVarint(out, strings.size());
+                for (String value : strings) {
+                    writeString(out, value);
+                }
+                writeVarint(out, entries.size());
+                for (TraceEntry entry : entries) {
+                    writeVarint(out, index.get(entry.method()));
+                    writeVarint(out, index.get(entry.path()));
+                    writeVarint(out, index.get(entry.requestBody()));
+                    writeVarint(out, entry.status());
+                    writeVarint(out, index.get(entry.responseBody()));
+                    writeVarint(out, entry.startMicros());
+                    writeVarint(out, entry.serverMicros());
+                    writeVarint(out, entry.wireMicros());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write trace " + file, e);
+        }
+    }
+
+    public static Trace read(Path file) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(file))))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a WebDriver trace");
+            }
+            String baseUrl = readString(in);
+            String startUrl = readString(in);
+            String[] strings = new String[(int) readVarint(in)];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = readString(in);
+            }
+            int count = (int) readVarint(in);
+            List<TraceEntry> entries = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                entries.add(new TraceEntry(strings[(int) readVarint(in)], strings[(int) readVarint(in)], strings[(int) readVarint(in)],
+                        (int) readVarint(in), strings[(int) readVarint(in)], readVarint(in), readVarint(in), readVarint(in)));
+            }
+            return new Trace(baseUrl, startUrl, entries);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read trace " + file, e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[(int) readVarint(in)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeVarint(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarint(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+}
@@ -0,0 +1,26 @@
+package ui.trace;
+
+/**
+ * Одна команда WebDriver в трассе: HTTP-запрос к chromedriver, ответ и время.
+ * Время в микросекундах: начало - от начала трассы, server - до заголовков ответа, wire - до конца ответа.
+ */
+public record TraceEntry(String method, String path, String requestBody, int status, String responseBody,
+                         long startMicros, long serverMicros, long wireMicros) {
+
+    boolean succeeded() {
+        return status >= 200 && status < 300;
+    }
+
+    boolean sameRequest(TraceEntry other) {
+        return method.equals(other.method) && path.equals(other.path) && requestBody.equals(other.requestBody);
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + path + (requestBody.isEmpty() ? "" : " " + abbreviate(requestBody));
+    }
+
+    static String abbreviate(String text) {
+        return text.length() <= 200 ? text : text.substring(0, 200) + "...";
+    }
+}
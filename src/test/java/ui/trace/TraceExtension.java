@@ -0,0 +1,58 @@
+package ui.trace;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import ui.driver.DriverLease;
+import ui.driver.DriverPoolExtension;
+import ui.site.Site;
+
+import java.nio.file.Path;
+
+/**
+ * Записывает трассы тестов с {@link RecordTrace}, если задано -Dtrace.record=true.
+ * <p>
+ * Запись начинается после @BeforeEach (страница уже подготовлена, её адрес - начало трассы) и заканчивается
+ * сразу после теста. Трасса упавшего теста не сохраняется. Файлы - {@code <trace.dir>/<сайт>/<класс>.<метод>.wdtrace}
+ * (по умолчанию build/traces, оттуда же их читает ./gradlew traceSmoke). Проверенные трассы, которые нужно хранить
+ * в репозитории, копируются в src/test/resources/traces вручную и воспроизводятся с -Dtrace.dir=src/test/resources/traces.
+ * Записанный файл и сводка попадают в отчёт JUnit (report entry "trace"). Без -Dtrace.record расширение ничего не делает.
+ * Регистрируется после DriverPoolExtension.
+ */
+public class TraceExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(TraceExtension.class);
+    private static final boolean RECORD = Boolean.getBoolean("trace.record");
+
+    public static Path directory() {
+        return Path.of(System.getProperty("trace.dir", "build/traces")).resolve(Site.isStandIn() ? "stand-in" : "remote");
+    }
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        DriverLease lease = DriverPoolExtension.lease(context);
+        if (!RECORD || lease == null || !context.getRequiredTestMethod().isAnnotationPresent(RecordTrace.class)) {
+            return;
+        }
+        if (!TraceRecorder.isAvailable()) {
+            throw new ExtensionConfigurationException("Trace recording needs the wire transport: -Dwebdriver.http.factory=wire");
+        }
+        String startUrl = lease.driver().getCurrentUrl();
+        context.getStore(NAMESPACE).put(TraceRecorder.class, TraceRecorder.start(Site.baseUrl(), startUrl));
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        TraceRecorder recorder = context.getStore(NAMESPACE).remove(TraceRecorder.class, TraceRecorder.class);
+        if (recorder == null) {
+            return;
+        }
+        Trace trace = recorder.stop();
+        if (context.getExecutionException().isPresent()) {
+            return;
+        }
+        Path file = directory().resolve(context.getRequiredTestClass().getSimpleName() + "." + context.getRequiredTestMethod().getName() + ".wdtrace");
+        trace.write(file);
+        context.publishReportEntry("trace", file + ": " + trace.summary());
+    }
+}
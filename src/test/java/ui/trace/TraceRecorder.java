@@ -0,0 +1,68 @@
+package ui.trace;
+
+import ui.wire.WireHttpClient;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Запись команд WebDriver, которые текущий поток отправляет в chromedriver.
+ * <p>
+ * Команды перехватывает транспорт {@link WireHttpClient}, поэтому запись работает только с
+ * -Dwebdriver.http.factory=wire. Записываются команды потока, начавшего запись: у теста своя сессия из пула,
+ * и все её команды идут из потока теста.
+ */
+public final class TraceRecorder {
+    private static final ThreadLocal<TraceRecorder> ACTIVE = new ThreadLocal<>();
+
+    private final String baseUrl;
+    private final String startUrl;
+    private final long origin = System.nanoTime();
+    private final List<TraceEntry> entries = new ArrayList<>();
+
+    private TraceRecorder(String baseUrl, String startUrl) {
+        this.baseUrl = baseUrl;
+        this.startUrl = startUrl;
+    }
+
+    public static boolean isAvailable() {
+        return WireHttpClient.NAME.equals(System.getProperty("webdriver.http.factory"));
+    }
+
+    public static TraceRecorder start(String baseUrl, String startUrl) {
+        TraceRecorder recorder = new TraceRecorder(baseUrl, startUrl);
+        ACTIVE.set(recorder);
+        return recorder;
+    }
+
+    /**
+     * Вызывается транспортом после каждого ответа; без активной записи ничего не делает.
+     */
+    public static void onCommand(String method, String path, byte[] requestBody, int status, byte[] responseBody,
+                                 long startedNanos, long headersNanos, long finishedNanos) {
+        TraceRecorder recorder = ACTIVE.get();
+        if (recorder == null) {
+            return;
+        }
+        TraceEntry entry = new TraceEntry(method, path, new String(requestBody, StandardCharsets.UTF_8), status,
+                new String(responseBody, StandardCharsets.UTF_8),
+                TimeUnit.NANOSECONDS.toMicros(Math.max(0, startedNanos - recorder.origin)),
+                TimeUnit.NANOSECONDS.toMicros(headersNanos - startedNanos),
+                TimeUnit.NANOSECONDS.toMicros(finishedNanos - startedNanos));
+        synchronized (recorder.entries) {
+            recorder.entries.add(entry);
+        }
+    }
+
+    public Trace stop() {
+        ACTIVE.remove();
+        synchronized (entries) {
+            // Одновременные команды могли закончиться не в порядке отправки
+            entries.sort(Comparator.comparingLong(TraceEntry::startMicros));
+            return new Trace(baseUrl, startUrl, List.copyOf(entries));
+        }
+    }
+}
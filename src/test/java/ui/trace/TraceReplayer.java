@@ -0,0 +1,274 @@
+package ui.trace;
+
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import ui.driver.DriverFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Воспроизведение записанной трассы ({@link Trace}) в новой сессии браузера, без кода теста.
+ * <p>
+ * Команды отправляются в chromedriver напрямую по HTTP одна за другой, без пауз из исходного прогона.
+ * Вместо пауз - проверка состояния: чтение (GET, поиск элементов, повторявшийся при записи скрипт) повторяется,
+ * пока не вернёт записанный ответ, а действие, которое упало, хотя при записи прошло, - пока не пройдёт
+ * (упавшая команда браузер не меняет). Опросы из ожиданий теста (один и тот же запрос несколько раз подряд
+ * между действиями) сводятся к последнему - к состоянию, которого тест дождался.
+ * <p>
+ * id сессии, элементов и окон в новой сессии другие: соответствие строится по ответам, адрес сайта из записи
+ * заменяется на текущий. Если ответ так и не совпал с записанным за trace.replayTimeoutSeconds (10),
+ * это расхождение; после упавшей команды, которая при записи прошла, воспроизведение останавливается.
+ * <p>
+ * Сессия создаётся на отдельном chromedriver (или на -Dremote.url) с настройками {@link DriverFactory#options()}.
+ */
+public final class TraceReplayer implements AutoCloseable {
+    private static final String ELEMENT_KEY = "element-6066-11e4-a52e-4f735466cecf";
+    private static final String SHADOW_KEY = "shadow-6066-11e4-a52e-4f735466cecf";
+    private static final long TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(Long.getLong("trace.replayTimeoutSeconds", 10));
+    private static final long RETRY_PAUSE_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final Pattern SESSION = Pattern.compile("^/session/([^/]+)(/.*)?$");
+    // Ответы, которые от прогона к прогону разные: сравнивается только успех команды
+    private static final Pattern VOLATILE = Pattern.compile(".*/(screenshot|se/log|log|rect|timeouts)$");
+    private static final Json JSON = new Json();
+
+    private final ChromeDriverService service;
+    private final RemoteWebDriver session;
+    private final URI driverUrl;
+    private final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    private TraceReplayer(ChromeDriverService service, URL url) {
+        this.service = service;
+        this.session = new RemoteWebDriver(url, DriverFactory.options());
+        String base = url.toString();
+        this.driverUrl = URI.create(base.endsWith("/") ? base.substring(0, base.length() - 1) : base);
+    }
+
+    public static TraceReplayer start() {
+        String remoteUrl = System.getProperty("remote.url");
+        if (remoteUrl != null) {
+            try {
+                return new TraceReplayer(null, URI.create(remoteUrl).toURL());
+            } catch (MalformedURLException e) {
+                throw new IllegalArgumentException("Invalid remote.url: " + remoteUrl, e);
+            }
+        }
+        ChromeDriverService service = ChromeDriverService.createDefaultService();
+        try {
+            service.start();
+            return new TraceReplayer(service, service.getUrl());
+        } catch (IOException | RuntimeException e) {
+            service.stop();
+            throw e instanceof IOException io ? new UncheckedIOException(io) : (RuntimeException) e;
+        }
+    }
+
+    public record Divergence(int index, String command, String expected, String actual) {
+        @Override
+        public String toString() {
+            return "#" + index + " " + command + "\n    expected: " + TraceEntry.abbreviate(expected)
+                    + "\n    actual:   " + TraceEntry.abbreviate(actual);
+        }
+    }
+
+    public record Result(int commands, int collapsed, int retries, long elapsedMicros, long recordedMicros,
+                         List<Divergence> divergences) {
+        public String summary() {
+            return String.format(Locale.ROOT, "replayed %d commands (%d polls collapsed, %d retries) in %.1f ms, recorded run %.1f ms, %d divergences",
+                    commands, collapsed, retries, elapsedMicros / 1000.0, recordedMicros / 1000.0, divergences.size());
+        }
+    }
+
+    public Result replay(Trace trace, String baseUrl) {
+        Map<String, String> ids = new LinkedHashMap<>();
+        ids.put(trace.baseUrl(), baseUrl);
+        String sessionId = session.getSessionId().toString();
+        List<TraceEntry> entries = trace.entries();
+        boolean[] polled = new boolean[entries.size()];
+        List<Divergence> divergences = new ArrayList<>();
+        int commands = 0;
+        int collapsed = 0;
+        int retries = 0;
+        long started = System.nanoTime();
+
+        send("POST", "/session/" + sessionId + "/url", JSON.toJson(Map.of("url", substitute(trace.startUrl(), ids))));
+        for (int i = 0; i < entries.size(); i++) {
+            TraceEntry recorded = entries.get(i);
+            Matcher command = SESSION.matcher(recorded.path());
+            if (!command.matches() || command.group(2) == null) {
+                continue; // создание и закрытие сессии не воспроизводятся
+            }
+            ids.putIfAbsent(command.group(1), sessionId);
+            if (repeatedLater(entries, i, polled)) {
+                collapsed++;
+                continue;
+            }
+            String path = substitute(recorded.path(), ids);
+            String body = substitute(recorded.requestBody(), ids);
+            boolean retryable = isRead(recorded) && (recorded.succeeded() || polled[i]);
+            long deadline = System.nanoTime() + TIMEOUT_NANOS;
+            commands++;
+
+            Reply actual = send(recorded.method(), path, body);
+            while (!matches(recorded, actual, ids)
+                    && (retryable || recorded.succeeded() && !actual.succeeded())
+                    && System.nanoTime() < deadline) {
+                LockSupport.parkNanos(RETRY_PAUSE_NANOS);
+                retries++;
+                actual = send(recorded.method(), path, body);
+            }
+            if (recorded.succeeded() && actual.succeeded()) {
+                learnIds(value(recorded.responseBody()), value(actual.body()), recorded.path().contains("/window"), ids);
+            }
+            if (!matches(recorded, actual, ids)) {
+                divergences.add(new Divergence(i, recorded.toString(), substitute(recorded.responseBody(), ids), actual.body()));
+                if (recorded.succeeded() && !actual.succeeded()) {
+                    break; // дальше команды ссылаются на то, чего в этой сессии нет
+                }
+            }
+        }
+        return new Result(commands, collapsed, retries, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - started),
+                trace.elapsedMicros(), divergences);
+    }
+
+    @Override
+    public void close() {
+        try {
+            session.quit();
+        } finally {
+            if (service != null) {
+                service.stop();
+            }
+        }
+    }
+
+    private record Reply(int status, String body) {
+        boolean succeeded() {
+            return status >= 200 && status < 300;
+        }
+    }
+
+    private Reply send(String method, String path, String body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(driverUrl + path)).timeout(Duration.ofSeconds(60));
+        if ("GET".equals(method) || "DELETE".equals(method)) {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        } else {
+            request.header("Content-Type", "application/json; charset=utf-8")
+                    .method(method, HttpRequest.BodyPublishers.ofString(body.isEmpty() ? "{}" : body, StandardCharsets.UTF_8));
+        }
+        try {
+            HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+            return new Reply(response.statusCode(), response.body());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Replay command failed: " + method + " " + path, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while replaying " + method + " " + path, e);
+        }
+    }
+
+    /**
+     * Чтение, которое повторяется дальше до первого действия, - это опрос из ожидания: воспроизводится только последний.
+     */
+    private static boolean repeatedLater(List<TraceEntry> entries, int index, boolean[] polled) {
+        TraceEntry entry = entries.get(index);
+        if (!isRead(entry)) {
+            return false;
+        }
+        for (int i = index + 1; i < entries.size() && isRead(entries.get(i)); i++) {
+            if (entries.get(i).sameRequest(entry)) {
+                polled[i] = true;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isRead(TraceEntry entry) {
+        return "GET".equals(entry.method())
+                || entry.path().endsWith("/element") || entry.path().endsWith("/elements")
+                || entry.path().endsWith("/execute/sync");
+    }
+
+    private static boolean matches(TraceEntry recorded, Reply actual, Map<String, String> ids) {
+        if (recorded.succeeded() != actual.succeeded()) {
+            return false;
+        }
+        Object expected = value(recorded.responseBody());
+        Object value = value(actual.body());
+        if (!recorded.succeeded()) {
+            // Ожидаемая ошибка: совпадать должен код ошибки, а не сообщение и стек
+            return expected instanceof Map<?, ?> error && value instanceof Map<?, ?> other
+                    && Objects.equals(error.get("error"), other.get("error"));
+        }
+        if (VOLATILE.matcher(recorded.path()).matches()) {
+            return true;
+        }
+        // Новые id из этого ответа учитываются только для сравнения: ответ ещё может оказаться промежуточным
+        Map<String, String> candidate = new LinkedHashMap<>(ids);
+        learnIds(expected, value, recorded.path().contains("/window"), candidate);
+        return Objects.equals(value(substitute(recorded.responseBody(), candidate)), value);
+    }
+
+    /**
+     * Сопоставляет id элементов (и окон - в ответах команд окон) из записи с id в новой сессии.
+     */
+    private static void learnIds(Object recorded, Object actual, boolean windows, Map<String, String> ids) {
+        if (recorded instanceof Map<?, ?> expected && actual instanceof Map<?, ?> value) {
+            for (Map.Entry<?, ?> entry : expected.entrySet()) {
+                Object key = entry.getKey();
+                Object other = value.get(key);
+                if ((ELEMENT_KEY.equals(key) || SHADOW_KEY.equals(key)) && entry.getValue() instanceof String id && other instanceof String newId) {
+                    ids.putIfAbsent(id, newId);
+                } else {
+                    learnIds(entry.getValue(), other, windows, ids);
+                }
+            }
+        } else if (recorded instanceof List<?> expected && actual instanceof List<?> value) {
+            for (int i = 0; i < Math.min(expected.size(), value.size()); i++) {
+                learnIds(expected.get(i), value.get(i), windows, ids);
+            }
+        } else if (windows && recorded instanceof String handle && actual instanceof String newHandle) {
+            ids.putIfAbsent(handle, newHandle);
+        }
+    }
+
+    private static Object value(String body) {
+        if (body.isEmpty()) {
+            return null;
+        }
+        try {
+            return JSON.toType(body, Json.MAP_TYPE).get("value");
+        } catch (JsonException | ClassCastException e) {
+            return body;
+        }
+    }
+
+    private static String substitute(String text, Map<String, String> ids) {
+        String result = text;
+        for (Map.Entry<String, String> id : ids.entrySet()) {
+            result = result.replace(id.getKey(), id.getValue());
+        }
+        return result;
+    }
+}
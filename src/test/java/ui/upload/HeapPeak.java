@@ -0,0 +1,30 @@
+package ui.upload;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.List;
+
+/**
+ * Пиковое использование heap тестовой JVM за интервал: пики пулов памяти сбрасываются в начале и суммируются в конце.
+ * Пики разных пулов могли быть в разные моменты, поэтому сумма - оценка сверху.
+ */
+public final class HeapPeak {
+    private final List<MemoryPoolMXBean> pools;
+
+    private HeapPeak(List<MemoryPoolMXBean> pools) {
+        this.pools = pools;
+    }
+
+    public static HeapPeak start() {
+        List<MemoryPoolMXBean> pools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP && pool.isValid())
+                .toList();
+        pools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        return new HeapPeak(pools);
+    }
+
+    public long peakBytes() {
+        return pools.stream().filter(MemoryPoolMXBean::isValid).mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+    }
+}
@@ -0,0 +1,71 @@
+package ui.upload;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.SplittableRandom;
+
+/**
+ * Большой файл для проверки загрузки: содержимое псевдослучайное (не сжимается) и воспроизводимое по seed.
+ * <p>
+ * Файл пишется через FileChannel блоками из одного direct-буфера, SHA-256 считается по ходу записи,
+ * поэтому ни файл, ни его заметная часть не попадают в heap. {@link #sha256(Path)} считает хэш
+ * готового файла через memory-mapped I/O - тоже вне heap.
+ */
+public record LargeFile(Path path, long size, String sha256) {
+    private static final int BLOCK_SIZE = 1024 * 1024;
+    // Окно отображения файла в память; MappedByteBuffer ограничен 2 ГБ
+    private static final long MAP_WINDOW = 256L * 1024 * 1024;
+
+    public static LargeFile generate(Path path, long size, long seed) {
+        MessageDigest digest = sha256Digest();
+        SplittableRandom random = new SplittableRandom(seed);
+        ByteBuffer block = ByteBuffer.allocateDirect(BLOCK_SIZE);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (long written = 0; written < size; ) {
+                block.clear();
+                while (block.remaining() >= Long.BYTES) {
+                    block.putLong(random.nextLong());
+                }
+                block.flip();
+                block.limit((int) Math.min(block.limit(), size - written));
+                digest.update(block.duplicate());
+                while (block.hasRemaining()) {
+                    written += channel.write(block);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to generate " + path, e);
+        }
+        return new LargeFile(path, size, HexFormat.of().formatHex(digest.digest()));
+    }
+
+    public static String sha256(Path path) {
+        MessageDigest digest = sha256Digest();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long position = 0; position < size; position += MAP_WINDOW) {
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAP_WINDOW, size - position));
+                digest.update(window);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to hash " + path, e);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package ui.upload;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Итог загрузки большого файла: размер, время, скорость и пик heap тестовой JVM ({@link HeapPeak}).
+ * {@link #export()} пишет его в upload.output (по умолчанию build/reports/upload.json).
+ */
+public record UploadReport(long sizeBytes, Duration elapsed, long peakHeapBytes) {
+    public double megabytesPerSecond() {
+        return sizeBytes / 1048576.0 * 1_000_000_000 / Math.max(1, elapsed.toNanos());
+    }
+
+    public void export() {
+        Path output = Path.of(System.getProperty("upload.output", "build/reports/upload.json"));
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("sizeMb", sizeBytes / (1024 * 1024));
+        report.put("elapsedMs", elapsed.toMillis());
+        report.put("mbPerSecond", Math.round(megabytesPerSecond() * 10) / 10.0);
+        report.put("peakHeapMb", peakHeapBytes / (1024 * 1024));
+        try {
+            if (output.getParent() != null) {
+                Files.createDirectories(output.getParent());
+            }
+            Files.writeString(output, new Json().toJson(report), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to export upload report to " + output, e);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package ui.visual;
+
+import java.util.stream.IntStream;
+
+/**
+ * Сравнение двух изображений одного размера.
+ * <p>
+ * Изображение делится на плитки {@value #TILE}x{@value #TILE}. Для каждой плитки считается 64-битный хэш (FNV-1a);
+ * хэши эталона считаются один раз и кешируются. Попиксельно (с допуском по каналу) сравниваются только плитки
+ * с разными хэшами, и эти плитки обрабатываются параллельно. Для типичной проверки, где картинка не изменилась,
+ * остаётся один линейный проход по массиву.
+ */
+public final class ImageDiff {
+    static final int TILE = 32;
+    // Меньше плиток выгоднее обработать в одном потоке
+    private static final int PARALLEL_MIN_TILES = 64;
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private ImageDiff() {
+        throw new AssertionError("Cannot instantiate ImageDiff class");
+    }
+
+    public record Result(int tiles, int changedTiles, long differentPixels, long totalPixels) {
+        public double differentRatio() {
+            return totalPixels == 0 ? 0 : (double) differentPixels / totalPixels;
+        }
+    }
+
+    static long[] tileHashes(Pixels image) {
+        int columns = columns(image);
+        int tiles = columns * rows(image);
+        long[] hashes = new long[tiles];
+        range(tiles).forEach(tile -> hashes[tile] = hash(image, tile % columns, tile / columns));
+        return hashes;
+    }
+
+    /**
+     * Сравнивает {@code actual} с эталоном {@code expected}, хэши плиток которого уже посчитаны.
+     * Пиксели различаются, если хотя бы один канал отличается больше чем на {@code tolerance}.
+     */
+    static Result compare(Pixels expected, long[] expectedHashes, Pixels actual, int tolerance) {
+        if (expected.width() != actual.width() || expected.height() != actual.height()) {
+            throw new IllegalArgumentException("Image sizes differ");
+        }
+        long[] actualHashes = tileHashes(actual);
+        int columns = columns(actual);
+        int[] changed = range(actualHashes.length).filter(tile -> actualHashes[tile] != expectedHashes[tile]).toArray();
+        long different = range(changed.length)
+                .mapToLong(i -> differentPixels(expected, actual, changed[i] % columns, changed[i] / columns, tolerance, null))
+                .sum();
+        return new Result(actualHashes.length, changed.length, different, (long) actual.width() * actual.height());
+    }
+
+    /**
+     * Картинка различий для отчёта: отличающиеся пиксели красные, остальные - бледная копия эталона.
+     */
+    static Pixels diffImage(Pixels expected, Pixels actual, int tolerance) {
+        int[] mask = new int[actual.argb().length];
+        for (int i = 0; i < mask.length; i++) {
+            mask[i] = 0x40000000 | (expected.argb()[i] & 0x00ffffff);
+        }
+        int columns = columns(actual);
+        range(columns * rows(actual)).forEach(tile -> differentPixels(expected, actual, tile % columns, tile / columns, tolerance, mask));
+        return new Pixels(actual.width(), actual.height(), mask);
+    }
+
+    private static long differentPixels(Pixels expected, Pixels actual, int column, int row, int tolerance, int[] mask) {
+        long different = 0;
+        int width = actual.width();
+        int xEnd = Math.min(width, (column + 1) * TILE);
+        int yEnd = Math.min(actual.height(), (row + 1) * TILE);
+        for (int y = row * TILE; y < yEnd; y++) {
+            for (int i = y * width + column * TILE, end = y * width + xEnd; i < end; i++) {
+                if (differs(expected.argb()[i], actual.argb()[i], tolerance)) {
+                    different++;
+                    if (mask != null) {
+                        mask[i] = 0xffff0000;
+                    }
+                }
+            }
+        }
+        return different;
+    }
+
+    private static boolean differs(int a, int b, int tolerance) {
+        if (a == b) {
+            return false;
+        }
+        for (int shift = 0; shift < 32; shift += 8) {
+            if (Math.abs(((a >>> shift) & 0xff) - ((b >>> shift) & 0xff)) > tolerance) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long hash(Pixels image, int column, int row) {
+        long hash = FNV_OFFSET;
+        int width = image.width();
+        int xEnd = Math.min(width, (column + 1) * TILE);
+        int yEnd = Math.min(image.height(), (row + 1) * TILE);
+        for (int y = row * TILE; y < yEnd; y++) {
+            for (int i = y * width + column * TILE, end = y * width + xEnd; i < end; i++) {
+                hash = (hash ^ image.argb()[i]) * FNV_PRIME;
+            }
+        }
+        return hash;
+    }
+
+    private static int columns(Pixels image) {
+        return (image.width() + TILE - 1) / TILE;
+    }
+
+    private static int rows(Pixels image) {
+        return (image.height() + TILE - 1) / TILE;
+    }
+
+    private static IntStream range(int tiles) {
+        IntStream range = IntStream.range(0, tiles);
+        return tiles >= PARALLEL_MIN_TILES ? range.parallel() : range;
+    }
+}
@@ -0,0 +1,40 @@
+package ui.visual;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Изображение как массив ARGB-пикселей построчно: сравнение работает с int[], а не с BufferedImage.
+ */
+public record Pixels(int width, int height, int[] argb) {
+
+    public static Pixels decode(byte[] png) {
+        try {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+            if (image == null) {
+                throw new IllegalArgumentException("Not an image");
+            }
+            int width = image.getWidth();
+            int height = image.getHeight();
+            return new Pixels(width, height, image.getRGB(0, 0, width, height, null, 0, width));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode screenshot", e);
+        }
+    }
+
+    public void writePng(Path path) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(0, 0, width, height, argb, 0, width);
+        try {
+            Files.createDirectories(path.getParent());
+            ImageIO.write(image, "png", path.toFile());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write " + path, e);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package ui.visual;
+
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.WebElement;
+import ui.metrics.CommandMetrics;
+import ui.site.Site;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assumptions.abort;
+
+/**
+ * Визуальная проверка элемента: скриншот элемента сравнивается с эталоном {@code <visual.baselineDir>/<сайт>/<name>.png}
+ * (по умолчанию src/test/resources/visual, сайт - remote или stand-in: у копий страниц своя вёрстка).
+ * <p>
+ * Эталоны читаются и разбираются один раз за прогон. Если эталона нет, текущий скриншот сохраняется кандидатом
+ * в {@code <visual.reportDir>/new-baselines}, а тест пропускается (с -Dvisual.strict=true - падает): проверка
+ * без эталона не считается пройденной. -Dvisual.update=true записывает скриншоты в эталоны, тесты при этом тоже
+ * пропускаются. Эталоны stand-in сервера записывает ./gradlew visualBaselines (headless, окно 1920x1080) -
+ * копии страниц не меняются, поэтому эти эталоны воспроизводимы и хранятся в репозитории.
+ * При расхождении в visual.reportDir (build/reports/visual) сохраняются текущий скриншот и картинка различий.
+ * Допуски: visual.channelTolerance - разница канала цвета, visual.maxDiffRatio - доля отличающихся пикселей.
+ */
+public final class VisualAssert {
+    private static final Path BASELINE_DIR = Path.of(System.getProperty("visual.baselineDir", "src/test/resources/visual"));
+    private static final Path REPORT_DIR = Path.of(System.getProperty("visual.reportDir", "build/reports/visual"));
+    private static final boolean UPDATE = Boolean.getBoolean("visual.update");
+    private static final boolean STRICT = Boolean.getBoolean("visual.strict");
+    private static final int TOLERANCE = Integer.getInteger("visual.channelTolerance", 16);
+    private static final double MAX_DIFF_RATIO = Double.parseDouble(System.getProperty("visual.maxDiffRatio", "0.002"));
+    private static final Map<Path, Baseline> BASELINES = new ConcurrentHashMap<>();
+
+    private VisualAssert() {
+        throw new AssertionError("Cannot instantiate VisualAssert class");
+    }
+
+    private record Baseline(Pixels pixels, long[] tileHashes) {
+        static Baseline of(Pixels pixels) {
+            return new Baseline(pixels, ImageDiff.tileHashes(pixels));
+        }
+    }
+
+    public static void assertMatches(WebElement element, String name) {
+        byte[] png = element.getScreenshotAs(OutputType.BYTES);
+        long started = System.nanoTime();
+        Pixels actual = Pixels.decode(png);
+        Path baselinePath = BASELINE_DIR.resolve(Site.isStandIn() ? "stand-in" : "remote").resolve(name + ".png");
+
+        if (UPDATE) {
+            write(baselinePath, png);
+            BASELINES.put(baselinePath, Baseline.of(actual));
+            abort("Visual baseline " + baselinePath + " updated, nothing compared");
+        }
+        if (!Files.exists(baselinePath)) {
+            Path candidate = REPORT_DIR.resolve("new-baselines").resolve(BASELINE_DIR.relativize(baselinePath));
+            write(candidate, png);
+            String message = "No visual baseline " + baselinePath + "; candidate saved to " + candidate
+                    + " (review it and copy it there, or run with -Dvisual.update=true)";
+            if (STRICT) {
+                fail(message);
+            }
+            abort(message);
+        }
+
+        Baseline baseline = BASELINES.computeIfAbsent(baselinePath, path -> Baseline.of(Pixels.decode(read(path))));
+        Pixels expected = baseline.pixels();
+        if (expected.width() != actual.width() || expected.height() != actual.height()) {
+            actual.writePng(REPORT_DIR.resolve(name + ".actual.png"));
+            fail(String.format("Visual check %s: size %dx%d, baseline %dx%d", name,
+                    actual.width(), actual.height(), expected.width(), expected.height()));
+        }
+        ImageDiff.Result result = ImageDiff.compare(expected, baseline.tileHashes(), actual, TOLERANCE);
+        CommandMetrics.record("Visual.compare", System.nanoTime() - started);
+        if (result.differentRatio() > MAX_DIFF_RATIO) {
+            actual.writePng(REPORT_DIR.resolve(name + ".actual.png"));
+            ImageDiff.diffImage(expected, actual, TOLERANCE).writePng(REPORT_DIR.resolve(name + ".diff.png"));
+            fail(String.format("Visual check %s: %d of %d pixels differ (%.3f%%) in %d of %d tiles, see %s", name,
+                    result.differentPixels(), result.totalPixels(), result.differentRatio() * 100,
+                    result.changedTiles(), result.tiles(), REPORT_DIR.resolve(name + ".diff.png")));
+        }
+    }
+
+    private static void write(Path path, byte[] png) {
+        try {
+            Files.createDirectories(path.getParent());
+            Files.write(path, png);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write baseline " + path, e);
+        }
+    }
+
+    private static byte[] read(Path path) {
+        try {
+            return Files.readAllBytes(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read baseline " + path, e);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package ui.wait;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Условие ожидания для {@link Wait}. Пока условие не выполнено, {@link #check(WebDriver)} возвращает null или false,
+ * после выполнения - любой другой результат (например, найденный элемент или новое значение поля).
+ * Условия можно комбинировать через {@link #and(Condition)} и {@link #or(Condition)}.
+ */
+@FunctionalInterface
+public interface Condition<T> {
+    T check(WebDriver driver);
+
+    /**
+     * Подробное описание условия (с элементами и значениями) для сообщения об истёкшем ожидании.
+     */
+    default String describe() {
+        return "custom condition";
+    }
+
+    /**
+     * Вид условия для отчёта об ожиданиях ({@link WaitReport}): без id сессии и элементов и без значений,
+     * чтобы ожидания одного вида попадали в одну строку отчёта.
+     */
+    default String kind() {
+        return describe();
+    }
+
+    static <T> Condition<T> named(String description, Condition<T> condition) {
+        return named(description, description, condition);
+    }
+
+    static <T> Condition<T> named(String kind, String description, Condition<T> condition) {
+        return new Condition<>() {
+            @Override
+            public T check(WebDriver driver) {
+                return condition.check(driver);
+            }
+
+            @Override
+            public String describe() {
+                return description;
+            }
+
+            @Override
+            public String kind() {
+                return kind;
+            }
+        };
+    }
+
+    static boolean isSatisfied(Object result) {
+        return result != null && !Boolean.FALSE.equals(result);
+    }
+
+    /**
+     * Оба условия выполнены. Результат - результат этого условия.
+     */
+    default Condition<T> and(Condition<?> other) {
+        return named(kind() + " and " + other.kind(), describe() + " and " + other.describe(), driver -> {
+            T result = check(driver);
+            return isSatisfied(result) && isSatisfied(other.check(driver)) ? result : null;
+        });
+    }
+
+    /**
+     * Выполнено хотя бы одно из условий. Результат - результат первого выполненного условия.
+     */
+    default Condition<Object> or(Condition<?> other) {
+        return named(kind() + " or " + other.kind(), describe() + " or " + other.describe(), driver -> {
+            Object result = check(driver);
+            return isSatisfied(result) ? result : other.check(driver);
+        });
+    }
+}
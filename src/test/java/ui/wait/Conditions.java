@@ -0,0 +1,112 @@
+package ui.wait;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+
+import java.util.Objects;
+
+/**
+ * Набор готовых условий для {@link Wait}. Условия над WebElement описывают элемент в сообщении об ошибке,
+ * а в отчёт об ожиданиях попадают как {@code <element>}: строка элемента содержит id сессии и элемента.
+ */
+public final class Conditions {
+    private static final By DROPDOWN_MENU = By.xpath("./following-sibling::ul[contains(@class, 'dropdown-menu')]");
+
+    private Conditions() {
+        throw new AssertionError("Cannot instantiate Conditions class");
+    }
+
+    /**
+     * Элемент найден и видим. Результат - сам элемент.
+     */
+    public static Condition<WebElement> visible(By locator) {
+        return Condition.named("visibility of " + locator, driver -> {
+            WebElement element = driver.findElement(locator);
+            return element.isDisplayed() ? element : null;
+        });
+    }
+
+    public static Condition<WebElement> visible(WebElement element) {
+        return Condition.named("visibility of <element>", "visibility of " + element, driver -> element.isDisplayed() ? element : null);
+    }
+
+    /**
+     * Значение (DOM-свойство value) поля отличается от предыдущего. Результат - новое значение.
+     */
+    public static Condition<String> valueChanged(WebElement element, String previousValue) {
+        return Condition.named("value of <element> to change", "value of " + element + " to change from '" + previousValue + "'", driver -> {
+            String value = element.getDomProperty("value");
+            return Objects.equals(previousValue, value) ? null : value;
+        });
+    }
+
+    public static Condition<String> valueEquals(WebElement element, String expectedValue) {
+        return Condition.named("value of <element> to be <value>", "value of " + element + " to be '" + expectedValue + "'", driver -> {
+            String value = element.getDomProperty("value");
+            return expectedValue.equals(value) ? value : null;
+        });
+    }
+
+    /**
+     * Адрес страницы отличается от предыдущего. Результат - новый адрес.
+     */
+    public static Condition<String> urlChanged(String previousUrl) {
+        return Condition.named("url to change", "url to change from " + previousUrl, driver -> {
+            String url = driver.getCurrentUrl();
+            return previousUrl.equals(url) ? null : url;
+        });
+    }
+
+    public static Condition<String> urlContains(String fragment) {
+        return Condition.named("url to contain '" + fragment + "'", driver -> {
+            String url = driver.getCurrentUrl();
+            return url != null && url.contains(fragment) ? url : null;
+        });
+    }
+
+    public static Condition<String> urlToBe(String expectedUrl) {
+        return Condition.named("url to be " + expectedUrl, driver -> expectedUrl.equals(driver.getCurrentUrl()) ? expectedUrl : null);
+    }
+
+    /**
+     * Документ полностью загружен (document.readyState == 'complete').
+     */
+    public static Condition<Boolean> documentReady() {
+        return Condition.named("document to be ready",
+                driver -> "complete".equals(((JavascriptExecutor) driver).executeScript("return document.readyState")));
+    }
+
+    /**
+     * Элемент больше не привязан к DOM - например, после перехода на другую страницу.
+     */
+    public static Condition<Boolean> stale(WebElement element) {
+        return Condition.named("staleness of <element>", "staleness of " + element, driver -> {
+            try {
+                element.isEnabled();
+                return false;
+            } catch (StaleElementReferenceException e) {
+                return true;
+            }
+        });
+    }
+
+    /**
+     * Меню, следующее за кнопкой-переключателем, раскрыто. Результат - элемент меню.
+     */
+    public static Condition<WebElement> dropdownExpanded(WebElement toggle) {
+        return Condition.named("dropdown of <element> to expand", "dropdown of " + toggle + " to expand", driver -> {
+            WebElement menu = toggle.findElement(DROPDOWN_MENU);
+            return menu.isDisplayed() ? menu : null;
+        });
+    }
+
+    /**
+     * Элемент находится в той же точке, что и цель (например, после drag and drop).
+     */
+    public static Condition<Boolean> locationEquals(WebElement element, WebElement target) {
+        return Condition.named("location of <element> to match <element>", "location of " + element + " to match " + target,
+                driver -> element.getLocation().equals(target.getLocation()));
+    }
+}
@@ -0,0 +1,84 @@
+package ui.wait;
+
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import ui.metrics.CommandMetrics;
+
+import java.time.Duration;
+
+/**
+ * Ожидание условий вместо фиксированных Thread.sleep().
+ * <p>
+ * Первая проверка выполняется сразу, дальше интервал опроса растёт от 10 до 250 мс:
+ * быстрые изменения страницы ловятся почти без задержки, а долгие не нагружают драйвер лишними командами.
+ * Каждое ожидание попадает в {@link WaitReport} и в метрики команд как "Wait.until".
+ */
+public final class Wait {
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(Integer.getInteger("wait.timeoutSeconds", 5));
+    // Готовность страницы после перехода, который браузер не ждёт (ui.site.Page#open)
+    public static final Duration PAGE_LOAD_TIMEOUT = Duration.ofSeconds(Integer.getInteger("wait.pageLoadSeconds", 30));
+    private static final long INITIAL_POLL_MILLIS = 10;
+    private static final long MAX_POLL_MILLIS = 250;
+
+    private Wait() {
+        throw new AssertionError("Cannot instantiate Wait class");
+    }
+
+    public static <T> T until(WebDriver driver, Condition<T> condition) {
+        return until(driver, condition, DEFAULT_TIMEOUT);
+    }
+
+    public static <T> T until(WebDriver driver, Condition<T> condition, Duration timeout) {
+        long start = System.nanoTime();
+        try {
+            return poll(driver, condition, timeout, start);
+        } finally {
+            CommandMetrics.record("Wait.until", System.nanoTime() - start);
+        }
+    }
+
+    private static <T> T poll(WebDriver driver, Condition<T> condition, Duration timeout, long start) {
+        long deadline = start + timeout.toNanos();
+        long pollMillis = INITIAL_POLL_MILLIS;
+        int polls = 0;
+        RuntimeException lastError = null;
+
+        while (true) {
+            polls++;
+            try {
+                T result = condition.check(driver);
+                if (Condition.isSatisfied(result)) {
+                    WaitReport.record(condition.kind(), elapsedMillis(start), timeout.toMillis(), polls, true);
+                    return result;
+                }
+                lastError = null;
+            } catch (NotFoundException | StaleElementReferenceException e) {
+                // Элемент ещё не появился или страница перерисовалась - продолжаем ждать
+                lastError = e;
+            }
+
+            long remainingMillis = (deadline - System.nanoTime()) / 1_000_000;
+            if (remainingMillis <= 0) {
+                WaitReport.record(condition.kind(), elapsedMillis(start), timeout.toMillis(), polls, false);
+                throw new TimeoutException("Condition not met within " + timeout.toMillis() + " ms: " + condition.describe(), lastError);
+            }
+            sleep(Math.min(pollMillis, remainingMillis));
+            pollMillis = Math.min(MAX_POLL_MILLIS, pollMillis * 3 / 2);
+        }
+    }
+
+    private static long elapsedMillis(long start) {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting", e);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package ui.wait;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Отчёт об ожиданиях: сколько занимают ожидания каждого вида по сравнению с их таймаутом.
+ * Ожидания суммируются по виду условия ({@link Condition#kind()}), в конце прогона отчёт пишется в wait.output
+ * (build/reports/waits.json) - вместе с метриками команд (ui.metrics.CommandMetricsExtension).
+ */
+public final class WaitReport {
+    private static final Map<String, Stats> STATS = new ConcurrentHashMap<>();
+
+    private WaitReport() {
+        throw new AssertionError("Cannot instantiate WaitReport class");
+    }
+
+    static void record(String kind, long elapsedMillis, long timeoutMillis, int polls, boolean satisfied) {
+        STATS.computeIfAbsent(kind, key -> new Stats()).add(elapsedMillis, timeoutMillis, polls, satisfied);
+    }
+
+    public static void export() {
+        Path output = Path.of(System.getProperty("wait.output", "build/reports/waits.json"));
+        List<Map<String, Object>> waits = new ArrayList<>();
+        // Сверху ожидания, на которые ушло больше всего времени прогона
+        STATS.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, Stats> entry) -> entry.getValue().totalMillis).reversed())
+                .forEach(entry -> waits.add(entry.getValue().toMap(entry.getKey())));
+        try {
+            if (output.getParent() != null) {
+                Files.createDirectories(output.getParent());
+            }
+            Files.writeString(output, new Json().toJson(waits), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to export wait report to " + output, e);
+        }
+    }
+
+    private static final class Stats {
+        private int met;
+        private int timedOut;
+        private long totalMillis;
+        private long maxMillis;
+        private double maxBudgetPercent;
+        private long polls;
+
+        synchronized void add(long elapsedMillis, long timeoutMillis, int polls, boolean satisfied) {
+            if (satisfied) {
+                met++;
+            } else {
+                timedOut++;
+            }
+            totalMillis += elapsedMillis;
+            maxMillis = Math.max(maxMillis, elapsedMillis);
+            maxBudgetPercent = Math.max(maxBudgetPercent, timeoutMillis == 0 ? 100.0 : 100.0 * elapsedMillis / timeoutMillis);
+            this.polls += polls;
+        }
+
+        synchronized Map<String, Object> toMap(String kind) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("condition", kind);
+            row.put("met", met);
+            row.put("timedOut", timedOut);
+            row.put("totalMs", totalMillis);
+            row.put("maxMs", maxMillis);
+            row.put("maxBudgetPercent", Math.round(maxBudgetPercent * 10) / 10.0);
+            row.put("polls", polls);
+            return row;
+        }
+    }
+}
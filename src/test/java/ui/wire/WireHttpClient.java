@@ -0,0 +1,179 @@
+package ui.wire;
+
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpClientName;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.openqa.selenium.remote.http.WebSocket;
+import org.openqa.selenium.remote.http.jdk.JdkHttpClient;
+import ui.metrics.CommandMetrics;
+import ui.trace.TraceRecorder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient.Redirect;
+import java.net.http.HttpClient.Version;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Транспорт WebDriver (команды к chromedriver или Grid) на одном общем {@link java.net.http.HttpClient} JDK.
+ * <p>
+ * Включается стандартным свойством Selenium: -Dwebdriver.http.factory=wire (фабрика подключается через META-INF/services).
+ * В отличие от клиента по умолчанию, который создаёт свой HttpClient на каждую сессию, все сессии пула
+ * используют один клиент и один пул keep-alive соединений: новая сессия не открывает соединения заново.
+ * Запросы идут по HTTP/1.1 без попытки перейти на HTTP/2 (chromedriver его не поддерживает) и без прокси,
+ * если прокси не задан в ClientConfig. Время простоя соединения в пуле - wire.keepAliveSeconds (по умолчанию 300).
+ * <p>
+ * HTTP/1.1 pipelining не поддерживают ни JDK, ни chromedriver. Независимые команды разных сессий пула
+ * (как в {@link ui.crawl.LinkCrawler}) идут одновременно, каждая по своему соединению из пула.
+ * <p>
+ * Для каждого запроса в {@link CommandMetrics} пишется два времени: "Server ..." - до получения заголовков ответа
+ * (обработка командой в chromedriver) и "Wire ..." - до конца тела ответа. Разница между временем команды
+ * WebDriver и "Wire" - сериализация JSON и обработка на стороне клиента.
+ * WebSocket (CDP) открывается стандартным клиентом Selenium. Через этот же транспорт пишутся трассы команд
+ * ({@link TraceRecorder}).
+ */
+public final class WireHttpClient implements HttpClient {
+    public static final String NAME = "wire";
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host", "upgrade");
+    // Сегменты пути из букв (element, property, value) остаются, id сессий и элементов заменяются на {id}
+    private static final Pattern NAMED_SEGMENT = Pattern.compile("[A-Za-z-]+");
+    private static final java.net.http.HttpClient SHARED;
+
+    static {
+        // Читается JDK один раз, при создании первого пула соединений
+        if (System.getProperty("jdk.httpclient.keepalive.timeout") == null) {
+            System.setProperty("jdk.httpclient.keepalive.timeout", Integer.getInteger("wire.keepAliveSeconds", 300).toString());
+        }
+        SHARED = builder().proxy(java.net.http.HttpClient.Builder.NO_PROXY).build();
+    }
+
+    private final ClientConfig config;
+    private final java.net.http.HttpClient client;
+    private HttpClient webSockets;
+
+    private WireHttpClient(ClientConfig config) {
+        this.config = config;
+        this.client = config.proxy() == null ? SHARED : builder().proxy(ProxySelector.of((InetSocketAddress) config.proxy().address())).build();
+    }
+
+    @HttpClientName(NAME)
+    public static final class Factory implements HttpClient.Factory {
+        @Override
+        public HttpClient createClient(ClientConfig config) {
+            return new WireHttpClient(config);
+        }
+    }
+
+    @Override
+    public HttpResponse execute(HttpRequest request) {
+        // Фильтры из ClientConfig (User-Agent Selenium и т.п.), как у стандартного клиента
+        return config.filter().andFinally(this::send).execute(request);
+    }
+
+    private HttpResponse send(HttpRequest request) {
+        java.net.http.HttpRequest.Builder builder = java.net.http.HttpRequest.newBuilder(uri(request))
+                .timeout(config.readTimeout());
+        request.forEachHeader((name, value) -> {
+            if (!RESTRICTED_HEADERS.contains(name.toLowerCase())) {
+                builder.header(name, value);
+            }
+        });
+        byte[] body = request.getMethod() == HttpMethod.GET ? new byte[0] : Contents.bytes(request.getContent());
+        builder.method(request.getMethod().name(), body.length == 0
+                ? java.net.http.HttpRequest.BodyPublishers.noBody()
+                : java.net.http.HttpRequest.BodyPublishers.ofByteArray(body));
+
+        AtomicLong headersReceived = new AtomicLong();
+        long started = System.nanoTime();
+        java.net.http.HttpResponse<byte[]> response;
+        try {
+            response = client.send(builder.build(), info -> {
+                headersReceived.set(System.nanoTime());
+                return java.net.http.HttpResponse.BodySubscribers.ofByteArray();
+            });
+        } catch (HttpTimeoutException e) {
+            throw new TimeoutException(e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + request.getMethod() + " " + request.getUri(), e);
+        }
+        long finished = System.nanoTime();
+        String command = request.getMethod() + " " + template(request.getUri());
+        CommandMetrics.record("Server " + command, headersReceived.get() - started);
+        CommandMetrics.record("Wire " + command, finished - started);
+        TraceRecorder.onCommand(request.getMethod().name(), request.getUri(), body, response.statusCode(), response.body(),
+                started, headersReceived.get(), finished);
+
+        HttpResponse result = new HttpResponse();
+        result.setStatus(response.statusCode());
+        response.headers().map().forEach((name, values) -> {
+            if (!name.startsWith(":")) {
+                values.forEach(value -> result.addHeader(name, value));
+            }
+        });
+        result.setContent(Contents.bytes(response.body()));
+        return result;
+    }
+
+    @Override
+    public synchronized WebSocket openSocket(HttpRequest request, WebSocket.Listener listener) {
+        if (webSockets == null) {
+            webSockets = new JdkHttpClient.Factory().createClient(config);
+        }
+        return webSockets.openSocket(request, listener);
+    }
+
+    @Override
+    public synchronized void close() {
+        // Общий клиент живёт до конца JVM, закрывается только клиент WebSocket
+        if (webSockets != null) {
+            webSockets.close();
+            webSockets = null;
+        }
+    }
+
+    private URI uri(HttpRequest request) {
+        String base = config.baseUri().toString();
+        StringBuilder uri = new StringBuilder(base.endsWith("/") ? base.substring(0, base.length() - 1) : base)
+                .append(request.getUri());
+        StringJoiner query = new StringJoiner("&", "?", "").setEmptyValue("");
+        for (String name : request.getQueryParameterNames()) {
+            for (String value : request.getQueryParameters(name)) {
+                query.add(URLEncoder.encode(name, StandardCharsets.UTF_8) + "=" + URLEncoder.encode(value, StandardCharsets.UTF_8));
+            }
+        }
+        return URI.create(uri.append(query).toString());
+    }
+
+    static String template(String path) {
+        StringJoiner template = new StringJoiner("/");
+        for (String segment : path.split("/", -1)) {
+            template.add(segment.isEmpty() || NAMED_SEGMENT.matcher(segment).matches() ? segment : "{id}");
+        }
+        return template.toString();
+    }
+
+    private static java.net.http.HttpClient.Builder builder() {
+        return java.net.http.HttpClient.newBuilder()
+                .version(Version.HTTP_1_1)
+                .followRedirects(Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(10));
+    }
+}
@@ -0,0 +1,193 @@
+// Локальная замена Bootstrap dropdown и bootstrap-datepicker для страниц stand-in сервера.
+// Повторяет только то поведение и ту разметку, на которые опираются тесты.
+(function () {
+    'use strict';
+
+    // --- Dropdown: кнопка с data-stand-in-toggle="click|contextmenu|dblclick" раскрывает следующее за ней меню ---
+    function menuOf(toggle) {
+        var node = toggle.nextElementSibling;
+        while (node && !node.classList.contains('dropdown-menu')) {
+            node = node.nextElementSibling;
+        }
+        return node;
+    }
+
+    function hideMenus(except) {
+        document.querySelectorAll('.dropdown-menu.show').forEach(function (menu) {
+            if (menu !== except) {
+                menu.classList.remove('show');
+                var toggle = menu.previousElementSibling;
+                if (toggle) {
+                    toggle.setAttribute('aria-expanded', 'false');
+                }
+            }
+        });
+    }
+
+    function showMenu(toggle) {
+        var menu = menuOf(toggle);
+        hideMenus(menu);
+        menu.classList.add('show');
+        toggle.setAttribute('aria-expanded', 'true');
+    }
+
+    document.querySelectorAll('[data-stand-in-toggle]').forEach(function (toggle) {
+        var trigger = toggle.getAttribute('data-stand-in-toggle');
+        toggle.addEventListener(trigger, function (event) {
+            event.preventDefault();
+            if (trigger === 'click' && menuOf(toggle).classList.contains('show')) {
+                hideMenus(null);
+            } else {
+                showMenu(toggle);
+            }
+        });
+    });
+
+    document.addEventListener('click', function (event) {
+        if (!event.target.closest('[data-stand-in-toggle]') && !event.target.closest('.dropdown-menu')) {
+            hideMenus(null);
+        }
+    });
+
+    // --- Drag and drop: элемент следует за курсором, пока нажата кнопка мыши ---
+    document.querySelectorAll('[data-stand-in-draggable]').forEach(function (element) {
+        element.addEventListener('mousedown', function (down) {
+            down.preventDefault();
+            var startX = down.clientX, startY = down.clientY;
+            var startLeft = element.offsetLeft, startTop = element.offsetTop;
+
+            function move(event) {
+                element.style.left = (startLeft + event.clientX - startX) + 'px';
+                element.style.top = (startTop + event.clientY - startY) + 'px';
+            }
+
+            function up() {
+                document.removeEventListener('mousemove', move);
+                document.removeEventListener('mouseup', up);
+            }
+
+            document.addEventListener('mousemove', move);
+            document.addEventListener('mouseup', up);
+        });
+    });
+
+    // --- Datepicker: та же разметка, что у bootstrap-datepicker (div.datepicker-days table.table-condensed td.day) ---
+    var MONTHS = ['January', 'February', 'March', 'April', 'May', 'June', 'July', 'August', 'September', 'October', 'November', 'December'];
+
+    function pad(value) {
+        return (value < 10 ? '0' : '') + value;
+    }
+
+    function format(date) {
+        return pad(date.getMonth() + 1) + '/' + pad(date.getDate()) + '/' + date.getFullYear();
+    }
+
+    function parse(text) {
+        var parts = (text || '').match(/\d+/g);
+        if (!parts || parts.length < 3) {
+            return null;
+        }
+        var date = new Date(+parts[2], +parts[0] - 1, +parts[1]);
+        return isNaN(date.getTime()) ? null : date;
+    }
+
+    function sameDay(a, b) {
+        return a && b && a.getFullYear() === b.getFullYear() && a.getMonth() === b.getMonth() && a.getDate() === b.getDate();
+    }
+
+    document.querySelectorAll('[data-stand-in-datepicker]').forEach(function (input) {
+        var picker = null;
+        var viewDate = null;
+
+        function close() {
+            if (picker) {
+                picker.remove();
+                picker = null;
+            }
+        }
+
+        function select(date) {
+            input.value = format(date);
+            input.dispatchEvent(new Event('change', {bubbles: true}));
+            close();
+        }
+
+        function render() {
+            var selected = parse(input.value);
+            var today = new Date();
+            var first = new Date(viewDate.getFullYear(), viewDate.getMonth(), 1);
+            var day = new Date(first.getFullYear(), first.getMonth(), 1 - first.getDay());
+
+            var html = '<div class="datepicker-days"><table class="table-condensed"><thead><tr>' +
+                '<th class="prev">&laquo;</th><th colspan="5" class="datepicker-switch">' +
+                MONTHS[viewDate.getMonth()] + ' ' + viewDate.getFullYear() + '</th><th class="next">&raquo;</th></tr>' +
+                '<tr><th class="dow">Su</th><th class="dow">Mo</th><th class="dow">Tu</th><th class="dow">We</th>' +
+                '<th class="dow">Th</th><th class="dow">Fr</th><th class="dow">Sa</th></tr></thead><tbody>';
+            for (var week = 0; week < 6; week++) {
+                html += '<tr>';
+                for (var weekday = 0; weekday < 7; weekday++) {
+                    var classes = [];
+                    var monthOffset = (day.getFullYear() - viewDate.getFullYear()) * 12 + day.getMonth() - viewDate.getMonth();
+                    if (monthOffset < 0) {
+                        classes.push('old');
+                    } else if (monthOffset > 0) {
+                        classes.push('new');
+                    }
+                    if (sameDay(day, today)) {
+                        classes.push('today');
+                    }
+                    if (sameDay(day, selected)) {
+                        classes.push('active');
+                    }
+                    classes.push('day');
+                    html += '<td class="' + classes.join(' ') + '" data-date="' + day.getTime() + '">' + day.getDate() + '</td>';
+                    day.setDate(day.getDate() + 1);
+                }
+                html += '</tr>';
+            }
+            picker.innerHTML = html + '</tbody></table></div>';
+        }
+
+        function open() {
+            if (picker) {
+                return;
+            }
+            viewDate = parse(input.value) || new Date();
+            picker = document.createElement('div');
+            picker.className = 'datepicker datepicker-dropdown';
+            var rect = input.getBoundingClientRect();
+            picker.style.left = (rect.left + window.scrollX) + 'px';
+            picker.style.top = (rect.bottom + window.scrollY) + 'px';
+            picker.addEventListener('mousedown', function (event) {
+                // Не даём полю потерять фокус при клике по календарю
+                event.preventDefault();
+            });
+            picker.addEventListener('click', function (event) {
+                var cell = event.target.closest('td.day');
+                if (cell) {
+                    select(new Date(+cell.getAttribute('data-date')));
+                } else if (event.target.closest('.prev, .next')) {
+                    viewDate.setMonth(viewDate.getMonth() + (event.target.closest('.prev') ? -1 : 1));
+                    render();
+                }
+            });
+            document.body.appendChild(picker);
+            render();
+        }
+
+        input.addEventListener('focus', open);
+        input.addEventListener('click', open);
+        input.addEventListener('blur', close);
+        input.addEventListener('keydown', function (event) {
+            if (event.key === 'Enter') {
+                event.preventDefault();
+                var date = parse(input.value);
+                if (date) {
+                    select(date);
+                }
+            } else if (event.key === 'Escape') {
+                close();
+            }
+        });
+    });
+})();